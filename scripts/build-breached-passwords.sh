@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+#
+# Builds the breached password index used by breached-passwords.path.
+#
+#   ./mvnw package
+#   scripts/build-breached-passwords.sh pwned-passwords-sha1-ordered-by-hash.txt /srv/auth/breached.idx
+#
+# Input is the public Pwned Passwords SHA-1 dump, ordered by hash
+# ("HASH:COUNT" per line). The index is written next to the output and
+# renamed over it, so running services pick the new version up on their next
+# reload check (breached-passwords.reload-interval-seconds).
+
+set -euo pipefail
+
+if [ "$#" -ne 2 ]; then
+    echo "usage: $0 <pwned-passwords-sha1.txt> <output.idx>" >&2
+    exit 2
+fi
+
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+FAT_JAR="$(ls "$TARGET"/auth-*.jar 2>/dev/null | grep -v -- '-app.jar' | head -n 1 || true)"
+
+if [ -z "$FAT_JAR" ]; then
+    echo "no application jar in $TARGET, run ./mvnw package first" >&2
+    exit 1
+fi
+
+java -Dloader.main=com.sourabh.AuthService.util.BreachedPasswordIndexBuilder \
+    -cp "$FAT_JAR" org.springframework.boot.loader.launch.PropertiesLauncher "$1" "$2"
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+#
+# Startup time / RSS comparison of the JVM, JVM + AppCDS and native builds,
+# plus the JVM build with the old ddl-auto=update schema handling instead of
+# Flyway + validate.
+#
+#   ./mvnw -Pappcds package            # target/cds/...
+#   ./mvnw -Pnative native:compile     # target/auth-service
+#   scripts/startup-report.sh [runs]   # writes target/startup-report.md
+#
+# Each variant is started <runs> times (default 5) against the configured
+# database; startup time is Spring's "Started ... in X seconds" line and RSS is
+# sampled from /proc once the app has started. Variants whose artifact is
+# missing are skipped.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+REPORT="$TARGET/startup-report.md"
+FAT_JAR="$(ls "$TARGET"/auth-*.jar 2>/dev/null | grep -v -- '-app.jar' | head -n 1 || true)"
+CDS_JAR="$(ls "$TARGET"/cds/auth-*-app.jar 2>/dev/null | head -n 1 || true)"
+MAIN=com.sourabh.AuthService.AuthServiceApplication
+
+measure() {
+    local name="$1"; shift
+    local total_s=0 total_rss=0
+
+    for _ in $(seq "$RUNS"); do
+        local log; log="$(mktemp)"
+        "$@" >"$log" 2>&1 &
+        local pid=$!
+
+        until grep -q "Started AuthServiceApplication in" "$log"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$name failed to start, see $log" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+
+        local seconds rss
+        seconds="$(grep -o 'Started AuthServiceApplication in [0-9.]*' "$log" | awk '{print $4}')"
+        rss="$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")"
+
+        kill "$pid"; wait "$pid" 2>/dev/null || true
+        rm -f "$log"
+
+        total_s="$(echo "$total_s + $seconds" | bc -l)"
+        total_rss=$((total_rss + rss))
+    done
+
+    printf '| %s | %.3f | %d |\n' "$name" "$(echo "$total_s / $RUNS" | bc -l)" $((total_rss / RUNS / 1024)) >>"$REPORT"
+}
+
+{
+    echo "# Startup comparison ($RUNS runs each, $(date -u +%Y-%m-%dT%H:%MZ))"
+    echo
+    echo "| Variant | Avg startup (s) | Avg RSS after start (MiB) |"
+    echo "|---|---|---|"
+} >"$REPORT"
+
+[ -n "$FAT_JAR" ] && measure "JVM (fat jar)" java -jar "$FAT_JAR"
+[ -n "$FAT_JAR" ] && measure "JVM, ddl-auto=update (no Flyway)" \
+    java -jar "$FAT_JAR" --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=update
+[ -n "$CDS_JAR" ] && measure "JVM + AppCDS" \
+    java -XX:SharedArchiveFile="$TARGET/cds/auth-service.jsa" -cp "$CDS_JAR:$TARGET/cds/lib/*" "$MAIN"
+[ -x "$TARGET/auth-service" ] && measure "Native image (AOT)" "$TARGET/auth-service"
+
+cat "$REPORT"
@@ -0,0 +1,71 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.enums.BulkheadType;
+import com.sourabh.AuthService.util.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * One {@link Bulkhead} per {@link BulkheadType}, so a slow SMTP server
+ * stalling OTP sends cannot use up the servlet threads that login and
+ * token-authenticated calls need. Sized from bulkhead.&lt;key&gt;.* with the
+ * enum's defaults; saturation is exported per bulkhead.
+ */
+@Component
+public class Bulkheads {
+
+    private final Map<BulkheadType, Bulkhead> bulkheads = new EnumMap<>(BulkheadType.class);
+
+    public Bulkheads(Environment environment, MeterRegistry meterRegistry) {
+        for (BulkheadType type : BulkheadType.values()) {
+            String prefix = "bulkhead." + type.key() + ".";
+            Bulkhead bulkhead = new Bulkhead(
+                    type.key(),
+                    environment.getProperty(prefix + "threads", Integer.class, type.defaultThreads()),
+                    environment.getProperty(prefix + "queue", Integer.class, type.defaultQueue()),
+                    environment.getProperty(prefix + "queue-timeout-ms", Long.class, type.defaultQueueTimeoutMs())
+            );
+            bulkheads.put(type, bulkhead);
+            register(meterRegistry, bulkhead);
+        }
+    }
+
+    public <T> T call(BulkheadType type, Callable<T> task) {
+        return bulkheads.get(type).call(task);
+    }
+
+    @PreDestroy
+    public void close() {
+        bulkheads.values().forEach(Bulkhead::close);
+    }
+
+    /* ===================== METRICS ===================== */
+
+    private static void register(MeterRegistry registry, Bulkhead bulkhead) {
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::active)
+                .tag("bulkhead", bulkhead.name())
+                .register(registry);
+        Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::queued)
+                .tag("bulkhead", bulkhead.name())
+                .register(registry);
+        Gauge.builder("bulkhead.saturation", bulkhead, Bulkhead::saturation)
+                .tag("bulkhead", bulkhead.name())
+                .description("(active + queued) / threads")
+                .register(registry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                .tag("bulkhead", bulkhead.name())
+                .register(registry);
+        FunctionCounter.builder("bulkhead.timeouts", bulkhead, Bulkhead::timeouts)
+                .tag("bulkhead", bulkhead.name())
+                .description("calls withdrawn before they started")
+                .register(registry);
+    }
+}
@@ -0,0 +1,132 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Load shedding ahead of JwtFilter and the rest of the chain. BCrypt-bound
+ * endpoints and everything else get separate adaptive limits, so a signup
+ * storm cannot starve cheap reads (and vice versa). Over the limit, the
+ * request is answered at once with 503 + Retry-After instead of waiting in
+ * Tomcat's queue until every caller times out.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // every path that hashes or checks a password / OTP with BCrypt
+    private static final Set<String> EXPENSIVE_PATHS = Set.of(
+            "/api/v1/auth/login",
+            "/api/v1/auth/signup",
+            "/api/v1/auth/verify",
+            "/api/v1/auth/login/phone",
+            "/api/v1/auth/login/phone/verify"
+    );
+    private static final String EXPENSIVE_PREFIX = "/api/v1/auth/password/";
+
+    private static final byte[] SHED_BODY = ("{\"status\":503,\"error\":\"Service Unavailable\","
+            + "\"message\":\"Server is busy, please retry shortly\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimit expensive;
+    private final AdaptiveConcurrencyLimit cheap;
+    private final Counter expensiveRejected;
+    private final Counter cheapRejected;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${concurrency-limit.expensive.initial:20}") int expensiveInitial,
+            @Value("${concurrency-limit.expensive.min:4}") int expensiveMin,
+            @Value("${concurrency-limit.expensive.max:200}") int expensiveMax,
+            @Value("${concurrency-limit.cheap.initial:100}") int cheapInitial,
+            @Value("${concurrency-limit.cheap.min:10}") int cheapMin,
+            @Value("${concurrency-limit.cheap.max:1000}") int cheapMax,
+            @Value("${concurrency-limit.window-size:50}") int windowSize,
+            @Value("${concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds
+    ) {
+        this.expensive = new AdaptiveConcurrencyLimit(expensiveInitial, expensiveMin, expensiveMax, windowSize);
+        this.cheap = new AdaptiveConcurrencyLimit(cheapInitial, cheapMin, cheapMax, windowSize);
+        this.expensiveRejected = register(meterRegistry, "expensive", expensive);
+        this.cheapRejected = register(meterRegistry, "cheap", cheap);
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // probes must keep answering while we shed
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        boolean isExpensive = isExpensive(request.getRequestURI());
+        AdaptiveConcurrencyLimit limit = isExpensive ? expensive : cheap;
+
+        long started = limit.tryAcquire();
+        if (started < 0) {
+            (isExpensive ? expensiveRejected : cheapRejected).increment();
+            shed(response);
+            return;
+        }
+
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            // 5xx often fail fast and would make the service look faster than it is
+            sample = response.getStatus() < 500;
+        } finally {
+            limit.release(started, sample);
+        }
+    }
+
+    private static boolean isExpensive(String path) {
+        return EXPENSIVE_PATHS.contains(path) || path.startsWith(EXPENSIVE_PREFIX);
+    }
+
+    private void shed(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(SHED_BODY.length);
+        response.getOutputStream().write(SHED_BODY);
+    }
+
+    /* ===================== METRICS ===================== */
+
+    private static Counter register(MeterRegistry registry, String endpointClass, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .tag("class", endpointClass)
+                .register(registry);
+        Gauge.builder("concurrency.inflight", limit, AdaptiveConcurrencyLimit::inflight)
+                .tag("class", endpointClass)
+                .register(registry);
+        return Counter.builder("concurrency.rejected")
+                .tag("class", endpointClass)
+                .register(registry);
+    }
+}
@@ -0,0 +1,200 @@
+package com.sourabh.AuthService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.dto.request.LoginRequest;
+import com.sourabh.AuthService.dto.request.SignupRequest;
+import com.sourabh.AuthService.dto.response.LoginResponse;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.util.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the login / signup hot paths in a loop before the pod takes traffic,
+ * so the first real requests hit compiled code: BCrypt, JWT signing and
+ * parsing, Jackson DTO binding, bean validation and the user queries.
+ *
+ * Runs as an ApplicationRunner, and Spring Boot only flips readiness to
+ * ACCEPTING_TRAFFIC after all runners return, so /actuator/health/readiness
+ * stays DOWN until warm-up is over. Only synthetic data is used: queries look
+ * up addresses under the reserved .invalid domain, and no OTP or mail is
+ * ever sent. Failures are logged and never block startup.
+ */
+@Slf4j
+@Component
+public class JitWarmup implements ApplicationRunner, HealthIndicator {
+
+    private static final String PASSWORD = "warmup-password-1";
+    private static final String PHONE = "6000000000";
+
+    // BCrypt is ~100x the cost of everything else; its inner loops compile after a few calls
+    private static final int BCRYPT_EVERY = 16;
+
+    private final PasswordEncoder passwordEncoder;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserRepository userRepository;
+
+    private final boolean enabled;
+    private final long budgetMs;
+    private final long maxIterations;
+    private final int threads;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private volatile long durationMs = -1;
+
+    public JitWarmup(
+            PasswordEncoder passwordEncoder,
+            JwtUtil jwtUtil,
+            ObjectMapper objectMapper,
+            Validator validator,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.budget-ms:15000}") long budgetMs,
+            @Value("${warmup.max-iterations:5000}") long maxIterations,
+            @Value("${warmup.threads:2}") int threads
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.budgetMs = budgetMs;
+        this.maxIterations = maxIterations;
+        this.threads = Math.max(1, threads);
+
+        Gauge.builder("warmup.duration", this, warmup -> Math.max(0, warmup.durationMs))
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("warmup.iterations", iterations, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled || budgetMs <= 0) {
+            durationMs = 0;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "jit-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                workers.add(executor.submit(() -> loop(worker, deadline)));
+            }
+            for (Future<?> future : workers) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    log.warn("JIT warm-up worker failed, continuing startup", ex.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("JIT warm-up finished: {} iterations on {} threads in {} ms (budget {} ms)",
+                iterations.get(), threads, durationMs, budgetMs);
+    }
+
+    /* ===================== HEALTH ===================== */
+
+    @Override
+    public Health health() {
+        long duration = durationMs;
+        Health.Builder health = duration < 0 ? Health.down() : Health.up();
+        return health
+                .withDetail("durationMs", Math.max(0, duration))
+                .withDetail("iterations", iterations.get())
+                .withDetail("budgetMs", budgetMs)
+                .build();
+    }
+
+    /* ===================== LOOP ===================== */
+
+    private void loop(int worker, long deadline) {
+
+        String hash = passwordEncoder.encode(PASSWORD);
+
+        for (long i = 0; System.nanoTime() < deadline && !Thread.currentThread().isInterrupted(); i++) {
+
+            long n = iterations.incrementAndGet();
+            if (n > maxIterations) {
+                return;
+            }
+
+            String email = "warmup-" + worker + "-" + i + "@warmup.invalid";
+
+            try {
+                if (i % BCRYPT_EVERY == 0) {
+                    passwordEncoder.matches(PASSWORD, hash);
+                }
+
+                String token = jwtUtil.generateToken(email);
+                jwtUtil.validateAndExtractEmail(token);
+
+                LoginRequest login = objectMapper.readValue(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}",
+                        LoginRequest.class
+                );
+                validator.validate(login);
+
+                SignupRequest signup = objectMapper.readValue(
+                        "{\"email\":\"" + email + "\",\"firstName\":\"Warm\",\"lastName\":\"Up\","
+                                + "\"phoneNumber\":\"" + PHONE + "\",\"city\":\"Nowhere\","
+                                + "\"password\":\"" + PASSWORD + "\",\"confirmPassword\":\"" + PASSWORD + "\"}",
+                        SignupRequest.class
+                );
+                validator.validate(signup);
+
+                objectMapper.writeValueAsString(LoginResponse.builder()
+                        .token(token)
+                        .id(i)
+                        .email(email)
+                        .firstName("Warm")
+                        .lastName("Up")
+                        .phoneNumber(PHONE)
+                        .city("Nowhere")
+                        .build());
+
+                userRepository.findAuthViewByEmailCanonical(email);
+                userRepository.existsByEmailCanonical(email);
+            } catch (Exception ex) {
+                log.warn("JIT warm-up iteration failed, stopping worker {}", worker, ex);
+                return;
+            }
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.sourabh.AuthService.config;
 
 import com.sourabh.AuthService.entity.User;
-import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.service.contract.UserLookupService;
 import com.sourabh.AuthService.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,7 +21,7 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
 
 
     @Override
@@ -57,23 +57,23 @@ public class JwtFilter extends OncePerRequestFilter {
         try {
             String token = authHeader.substring(7);
 
-            if (!jwtUtil.validateToken(token)) {
+            String email = jwtUtil.validateAndExtractEmail(token);
+
+            if (email == null) {
                 SecurityContextHolder.clearContext();
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            String email = jwtUtil.extractEmail(token);
-
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userRepository.findByEmail(email).orElse(null);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                User user = userLookupService.findByEmail(email).orElse(null);
 
                 if (user != null) {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     user,
                                     null,
-                                    List.of(() -> "ROLE_USER")
+                                    List.of(() -> "ROLE_" + user.getRole().name())
                             );
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,75 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.dto.projection.UserAuthView;
+import com.sourabh.AuthService.dto.request.BulkUserRow;
+import com.sourabh.AuthService.dto.response.BulkImportResponse;
+import com.sourabh.AuthService.dto.response.UserChangedEvent;
+import com.sourabh.AuthService.entity.OutboxEvent;
+import com.sourabh.AuthService.entity.Otp;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.service.contract.SmsGateway;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reachability hints for the native image (-Pnative). Controller DTOs are
+ * covered by Spring AOT; this adds what it cannot see: jjwt's reflective
+ * bootstrap and ServiceLoader-based Jackson (de)serializer, the entities and
+ * the JPQL constructor projection, types bound through our own ObjectMapper
+ * calls, and the swagger-ui webjar that springdoc serves.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.AuthServiceRuntimeHints.class)
+@RegisterReflectionForBinding({
+        BulkUserRow.class,
+        BulkImportResponse.class,
+        BulkImportResponse.RowError.class,
+        SmsGateway.Message.class,
+        UserChangedEvent.class,
+        UserChangedEvent.Snapshot.class
+})
+public class NativeHintsConfig {
+
+    static class AuthServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+
+            // -------- jjwt --------
+            JJWT_TYPES.forEach(type ->
+                    hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.values())
+            );
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // -------- entities / projections (Lombok-generated accessors, builders) --------
+            hints.reflection().registerType(User.class, MemberCategory.values());
+            hints.reflection().registerType(Otp.class, MemberCategory.values());
+            hints.reflection().registerType(OutboxEvent.class, MemberCategory.values());
+            hints.reflection().registerType(UserAuthView.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+            // -------- springdoc / swagger-ui --------
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+            hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.util.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.sourabh.AuthService.config.ReplicaRoutingDataSource.onPrimary;
+
+/**
+ * Keeps reads of a recently written account on the primary, so login right
+ * after verify or a password reset, and the JwtFilter principal right after
+ * a profile change, never see a replica that has not caught up yet. Every
+ * other lookup by email or phone goes to a replica.
+ *
+ * Keys are canonical emails and phones (Canonical), which never collide.
+ * A key is marked when the writing transaction commits and stays marked for
+ * datasource.replicas.read-your-writes-ms, which must cover replication lag.
+ * The marks are per instance: a request for the same account landing on
+ * another instance within the window can still be answered by a replica.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final int MIN_PURGE_SIZE = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentHashMap<String, Long> writtenAt = new ConcurrentHashMap<>();
+    private volatile int purgeAt = MIN_PURGE_SIZE;
+
+    public ReadYourWrites(@Value("${datasource.replicas.read-your-writes-ms:5000}") long windowMs) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    public void wrote(String... keys) {
+        AfterCommit.run(() -> {
+            long now = System.nanoTime();
+            for (String key : keys) {
+                if (key != null) {
+                    writtenAt.put(key, now);
+                }
+            }
+            if (writtenAt.size() >= purgeAt) {
+                purge(now);
+            }
+        });
+    }
+
+    public boolean isRecent(String key) {
+        Long at = writtenAt.get(key);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at < windowNanos) {
+            return true;
+        }
+        writtenAt.remove(key, at);
+        return false;
+    }
+
+    // the read must open its own transaction: the route is picked on first use
+    public <T> T read(String key, Supplier<T> read) {
+        return isRecent(key) ? onPrimary(read) : read.get();
+    }
+
+    // amortized: the threshold follows what is left, so a busy window is not rescanned on every write
+    private synchronized void purge(long now) {
+        writtenAt.values().removeIf(at -> now - at >= windowNanos);
+        purgeAt = Math.max(MIN_PURGE_SIZE, writtenAt.size() * 2);
+    }
+}
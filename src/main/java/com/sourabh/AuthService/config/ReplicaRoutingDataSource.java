@@ -0,0 +1,175 @@
+package com.sourabh.AuthService.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a healthy replica (round-robin) and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy
+ * so the read-only flag is known before a connection is fetched.
+ *
+ * Replicas are probed in the background; a replica that fails a probe or a
+ * connection attempt is skipped until a later probe succeeds. With no healthy
+ * replica, reads go to the primary.
+ *
+ * Reads that must see recent writes run inside {@link #onPrimary} and stay
+ * on the primary even when read-only (see ReadYourWrites).
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Set<String> unhealthy = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long healthCheckIntervalMs) {
+
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+        this.replicaKeys = new ArrayList<>(this.replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.healthChecker.scheduleWithFixedDelay(
+                this::checkHealth,
+                healthCheckIntervalMs,
+                healthCheckIntervalMs,
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Runs {@code read} with every connection it opens routed to the primary.
+     * Must wrap the whole transaction: the route is picked on first use.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (PRIMARY_PINNED.get() != null) {
+            return read.get();
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (replicaKeys.isEmpty()
+                || PRIMARY_PINNED.get() != null
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (!unhealthy.contains(key)) {
+                return key;
+            }
+        }
+
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        Object key = determineCurrentLookupKey();
+
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException | RuntimeException ex) {
+            // RuntimeException: a pool that could not start at all (PoolInitializationException)
+            markDown((String) key, ex);
+            return primary.getConnection();
+        }
+    }
+
+    /* ===================== HEALTH ===================== */
+
+    private void checkHealth() {
+        replicas.forEach((key, dataSource) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    if (unhealthy.remove(key)) {
+                        log.info("Read replica {} is healthy again", key);
+                    }
+                } else {
+                    markDown(key, null);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                markDown(key, ex);
+            }
+        });
+    }
+
+    private void markDown(String key, Exception cause) {
+        if (unhealthy.add(key)) {
+            log.warn("Read replica {} marked unhealthy, routing its reads to the primary", key, cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        closeQuietly(primary);
+        replicas.values().forEach(ReplicaRoutingDataSource::closeQuietly);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // shutting down
+            }
+        }
+    }
+}
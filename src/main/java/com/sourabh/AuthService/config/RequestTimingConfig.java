@@ -0,0 +1,59 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.service.contract.EmailService;
+import com.sourabh.AuthService.util.RequestTiming;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times the expensive collaborators of the service layer as request phases:
+ * repositories as "db", the password encoder as "bcrypt" and mail as "smtp".
+ * JWT signing / verification is timed inside JwtUtil.
+ */
+@Configuration
+public class RequestTimingConfig {
+
+    @Bean
+    public static BeanPostProcessor requestTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Repository<?, ?>) {
+                    return timed(bean, Repository.class, "db");
+                }
+                if (bean instanceof PasswordEncoder) {
+                    return timed(bean, PasswordEncoder.class, "bcrypt");
+                }
+                if (bean instanceof EmailService) {
+                    return timed(bean, EmailService.class, "smtp");
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Object timed(Object bean, Class<?> type, String phase) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(bean);
+        for (Class<?> candidate : ClassUtils.getAllInterfaces(bean)) {
+            if (type.isAssignableFrom(candidate)) {
+                factory.addInterface(candidate);
+            }
+        }
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            try (RequestTiming.Phase ignored = RequestTiming.phase(phase)) {
+                return invocation.proceed();
+            }
+        });
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.util.RequestTiming;
+import com.sourabh.AuthService.util.SlowRequestRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Outermost filter: opens the phase recording so JwtFilter, the services
+ * and the repositories all record into the same request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RequestTiming.Recording recording =
+                RequestTiming.begin(request.getMethod(), request.getRequestURI());
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+            int status = response.getStatus();
+            slowRequestRecorder.record(recording, status, recording.finish(status));
+        }
+    }
+}
@@ -32,8 +32,11 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/error",
+                                "/actuator/health/**",
                                 "/api/v1/auth/**"
                         ).permitAll()
+                        // bulk export/import, shards, diagnostics, search, statistics
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,49 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.util.RequestTiming;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the phase breakdown as a Server-Timing header, right before the body
+ * is written (the header can no longer be set once the response commits).
+ * Never active under the prod profile: it tells callers where time goes.
+ */
+@ControllerAdvice
+@Profile("!prod")
+@ConditionalOnProperty(prefix = "timing.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(
+            MethodParameter returnType,
+            Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        String header = RequestTiming.serverTimingHeader();
+        if (header != null) {
+            response.getHeaders().set(HEADER, header);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sourabh.AuthService.config;
+
+/**
+ * Shard selected for the current thread. Read by ShardRoutingDataSource when a
+ * connection is first used, so it must be set before the transaction starts.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+}
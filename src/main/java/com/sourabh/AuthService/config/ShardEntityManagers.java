@@ -0,0 +1,164 @@
+package com.sourabh.AuthService.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * EntityManagers on the user shards, bound to the caller's transaction.
+ *
+ * Inside a transaction, the first access to a shard opens an EntityManager
+ * with its own transaction on that shard. It commits right before the
+ * caller's transaction and rolls back with it, so a signup that fails after
+ * saving the user leaves nothing behind. Every side is flushed before
+ * anything commits; only a failure of the final COMMIT itself can leave the
+ * shards and shard 0 apart. Outside a transaction each call gets a short
+ * transaction of its own. Failures come out as Spring DataAccessExceptions,
+ * as they would from a repository.
+ */
+public class ShardEntityManagers implements Closeable {
+
+    private static final HibernateJpaDialect TRANSLATOR = new HibernateJpaDialect();
+
+    private final EntityManagerFactory shardEntityManagerFactory;
+    private final EntityManagerFactory callerEntityManagerFactory;
+
+    /**
+     * @param shardEntityManagerFactory  built on the ShardRoutingDataSource
+     * @param callerEntityManagerFactory the application's own (shard 0), flushed before the shards commit
+     */
+    public ShardEntityManagers(
+            EntityManagerFactory shardEntityManagerFactory,
+            EntityManagerFactory callerEntityManagerFactory
+    ) {
+        this.shardEntityManagerFactory = shardEntityManagerFactory;
+        this.callerEntityManagerFactory = callerEntityManagerFactory;
+    }
+
+    public <T> T inShard(int shard, Function<EntityManager, T> work) {
+
+        try {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                return work.apply(bound().computeIfAbsent(shard, this::open));
+            }
+
+            EntityManager entityManager = open(shard);
+            try {
+                T result = work.apply(entityManager);
+                entityManager.getTransaction().commit();
+                return result;
+            } finally {
+                close(entityManager);
+            }
+        } catch (RuntimeException ex) {
+            throw translated(ex);
+        }
+    }
+
+    public void flush() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                bound().values().forEach(EntityManager::flush);
+            } catch (RuntimeException ex) {
+                throw translated(ex);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Integer, EntityManager> bound() {
+
+        Map<Integer, EntityManager> open = (Map<Integer, EntityManager>) TransactionSynchronizationManager.getResource(this);
+        if (open == null) {
+            open = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, open);
+            TransactionSynchronizationManager.registerSynchronization(new Completion(open));
+        }
+        return open;
+    }
+
+    private EntityManager open(int shard) {
+
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+
+        EntityManager entityManager = shardEntityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            // take the connection now, while ShardContext still names the shard
+            entityManager.unwrap(Session.class).doWork(connection -> {
+            });
+            return entityManager;
+        } catch (RuntimeException ex) {
+            entityManager.close();
+            throw ex;
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    private static RuntimeException translated(RuntimeException ex) {
+        DataAccessException translated = TRANSLATOR.translateExceptionIfPossible(ex);
+        return translated != null ? translated : ex;
+    }
+
+    private static void close(EntityManager entityManager) {
+        try {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        shardEntityManagerFactory.close();
+    }
+
+    private final class Completion implements TransactionSynchronization {
+
+        private final Map<Integer, EntityManager> open;
+
+        private Completion(Map<Integer, EntityManager> open) {
+            this.open = open;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            try {
+                // surface constraint and version failures on every side before anything commits
+                open.values().forEach(EntityManager::flush);
+
+                EntityManagerHolder caller =
+                        (EntityManagerHolder) TransactionSynchronizationManager.getResource(callerEntityManagerFactory);
+                if (caller != null && !readOnly) {
+                    caller.getEntityManager().flush();
+                }
+
+                for (EntityManager entityManager : open.values()) {
+                    entityManager.getTransaction().commit();
+                }
+            } catch (RuntimeException ex) {
+                throw translated(ex);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShardEntityManagers.this);
+            open.values().forEach(ShardEntityManagers::close);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.exceptions.ServiceUnavailableException;
+import com.sourabh.AuthService.util.Canonical;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Shard topology and the cross-shard directory.
+ *
+ * Users hash (CRC32C of the canonical email) into a fixed number of buckets,
+ * and each bucket is assigned to a shard in the shard_bucket table, so
+ * resharding moves whole buckets instead of rehashing every user.
+ * user_directory holds every (id, email, phone) triple: it allocates the
+ * global user ids, enforces uniqueness across shards and turns a phone or id
+ * lookup into a single-shard query. Both tables live on shard 0 (migration
+ * V11); every pod refreshes the bucket map periodically.
+ *
+ * Directory writes go through the primary DataSource, so they join the
+ * caller's transaction like any other shard 0 write.
+ */
+@Slf4j
+public class ShardManager implements Closeable {
+
+    public static final int BUCKETS = 1024;
+
+    public enum BucketState {
+        ACTIVE,
+        FROZEN
+    }
+
+    private final List<JdbcTemplate> shards;
+    private final JdbcTemplate directory;
+    private final long refreshIntervalMs;
+    private final ScheduledExecutorService refresher;
+
+    private volatile int[] bucketShard = new int[BUCKETS];
+    private volatile boolean[] bucketFrozen = new boolean[BUCKETS];
+
+    public ShardManager(DataSource directoryDataSource, List<DataSource> shardDataSources, long refreshIntervalMs) {
+        this.shards = shardDataSources.stream().map(JdbcTemplate::new).toList();
+        this.directory = new JdbcTemplate(directoryDataSource);
+        this.refreshIntervalMs = refreshIntervalMs;
+
+        seedBuckets();
+        refresh();
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "shard-map-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /* ===================== ROUTING ===================== */
+
+    public static int bucketFor(String email) {
+        CRC32C crc = new CRC32C();
+        crc.update(Canonical.email(email).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % BUCKETS);
+    }
+
+    public int shardForRead(String email) {
+        return bucketShard[bucketFor(email)];
+    }
+
+    public int shardForWrite(String email) {
+        int bucket = bucketFor(email);
+        if (bucketFrozen[bucket]) {
+            throw new ServiceUnavailableException("Account is being migrated, please retry shortly");
+        }
+        return bucketShard[bucket];
+    }
+
+    public int shardOfBucket(int bucket) {
+        return bucketShard[bucket];
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public JdbcTemplate shard(int shard) {
+        return shards.get(shard);
+    }
+
+    public long refreshIntervalMs() {
+        return refreshIntervalMs;
+    }
+
+    /* ===================== DIRECTORY ===================== */
+
+    public boolean emailExists(String email) {
+        return count("SELECT COUNT(*) FROM user_directory WHERE email = ?", Canonical.email(email)) > 0;
+    }
+
+    public boolean phoneExists(String phoneNumber) {
+        return count("SELECT COUNT(*) FROM user_directory WHERE phone_number = ?", Canonical.phone(phoneNumber)) > 0;
+    }
+
+    public Optional<String> emailForPhone(String phoneNumber) {
+        return directory.queryForList(
+                "SELECT email FROM user_directory WHERE phone_number = ?",
+                String.class,
+                Canonical.phone(phoneNumber)
+        ).stream().findFirst();
+    }
+
+    public Optional<String> emailForId(long userId) {
+        return directory.queryForList(
+                "SELECT email FROM user_directory WHERE user_id = ?",
+                String.class,
+                userId
+        ).stream().findFirst();
+    }
+
+    public long userCount() {
+        return count("SELECT COUNT(*) FROM user_directory");
+    }
+
+    /**
+     * Allocates the id of a new user.
+     * Throws DuplicateKeyException if either the email or the phone is taken on any shard.
+     */
+    public long register(String email, String phoneNumber) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        directory.update(connection -> {
+            PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO user_directory (email, phone_number) VALUES (?, ?)",
+                    Statement.RETURN_GENERATED_KEYS
+            );
+            insert.setString(1, Canonical.email(email));
+            insert.setString(2, Canonical.phone(phoneNumber));
+            return insert;
+        }, keys);
+        return keys.getKeyAs(Number.class).longValue();
+    }
+
+    // for rows that already have an id, e.g. when sharding is switched on for an existing database
+    public void registerExisting(long userId, String email, String phoneNumber) {
+        directory.update(
+                "INSERT INTO user_directory (user_id, email, phone_number) VALUES (?, ?, ?)",
+                userId,
+                Canonical.email(email),
+                Canonical.phone(phoneNumber)
+        );
+    }
+
+    public void unregister(long userId) {
+        directory.update("DELETE FROM user_directory WHERE user_id = ?", userId);
+    }
+
+    public void rekey(long userId, String email, String phoneNumber) {
+        directory.update(
+                "UPDATE user_directory SET email = ?, phone_number = ? WHERE user_id = ?",
+                Canonical.email(email),
+                Canonical.phone(phoneNumber),
+                userId
+        );
+    }
+
+    /* ===================== BUCKET MAP ===================== */
+
+    public void assignBucket(int bucket, int shard, BucketState state) {
+        directory.update(
+                "UPDATE shard_bucket SET shard = ?, state = ? WHERE bucket = ?",
+                shard,
+                state.name(),
+                bucket
+        );
+        refresh();
+    }
+
+    public void refresh() {
+        int[] shardMap = new int[BUCKETS];
+        boolean[] frozen = new boolean[BUCKETS];
+
+        directory.query("SELECT bucket, shard, state FROM shard_bucket", rs -> {
+            int bucket = rs.getInt("bucket");
+            shardMap[bucket] = rs.getInt("shard");
+            frozen[bucket] = BucketState.FROZEN.name().equals(rs.getString("state"));
+        });
+
+        this.bucketShard = shardMap;
+        this.bucketFrozen = frozen;
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh shard map, keeping the previous one", ex);
+        }
+    }
+
+    private void seedBuckets() {
+        if (count("SELECT COUNT(*) FROM shard_bucket") > 0) {
+            return;
+        }
+
+        try {
+            directory.batchUpdate(
+                    "INSERT INTO shard_bucket (bucket, shard, state) VALUES (?, ?, ?)",
+                    IntStream.range(0, BUCKETS)
+                            .mapToObj(bucket -> new Object[]{bucket, bucket % shards.size(), BucketState.ACTIVE.name()})
+                            .toList()
+            );
+        } catch (DuplicateKeyException ex) {
+            // another pod seeded it first
+        }
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = directory.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
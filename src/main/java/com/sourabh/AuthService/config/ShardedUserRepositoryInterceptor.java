@@ -0,0 +1,226 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.repository.UserSearchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.repository.query.Param;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Sits in front of UserRepository when sharding is enabled.
+ *
+ * Existence checks, counts and id lookups are answered by the directory;
+ * lookups and writes run on the owning shard through ShardEntityManagers,
+ * inside the caller's transaction, so a rollback undoes the user row, its
+ * directory entry and the caller's own shard 0 writes (OTPs, outbox)
+ * together. Admin search fans out to every shard.
+ *
+ * New users get their id from the directory and keep it for life: a save
+ * that moves the email to another shard deletes the row on the old shard and
+ * inserts it, same id, on the new one, both with the caller's transaction.
+ * JpaRepository methods with no shard key (Example / Sort / Pageable queries)
+ * are rejected; nothing in the service calls them.
+ */
+public class ShardedUserRepositoryInterceptor implements MethodInterceptor {
+
+    private static final String BY_EMAIL = "SELECT u FROM User u WHERE u.emailCanonical = :value";
+
+    private static final String INSERT = """
+        INSERT INTO user (
+            id, email, email_canonical, first_name, last_name, phone_number, phone_e164, city, password,
+            email_verified, phone_number_verified, role, created_at, updated_at, version, shard_bucket
+        ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private final ShardManager shardManager;
+    private final ShardEntityManagers shards;
+    private final UserSearchRepository search;
+
+    public ShardedUserRepositoryInterceptor(
+            ShardManager shardManager,
+            ShardEntityManagers shards,
+            UserSearchRepository search
+    ) {
+        this.shardManager = shardManager;
+        this.shards = shards;
+        this.search = search;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        Object[] args = invocation.getArguments();
+
+        return switch (invocation.getMethod().getName()) {
+            case "existsByEmailCanonical" -> shardManager.emailExists((String) args[0]);
+            case "existsByPhoneE164" -> shardManager.phoneExists((String) args[0]);
+            case "existsById" -> shardManager.emailForId((Long) args[0]).isPresent();
+            case "count" -> args.length == 0 ? shardManager.userCount() : rejected(invocation);
+            case "findById" -> findById((Long) args[0]);
+            case "findByEmailCanonical" -> findByEmail((String) args[0]);
+            case "findByPhoneE164" -> shardManager.emailForPhone((String) args[0]).flatMap(this::findByEmail);
+            case "findAuthViewByEmailCanonical" -> declaredQuery((String) args[0], invocation);
+            case "findAuthViewByPhoneE164" -> shardManager.emailForPhone((String) args[0])
+                    .flatMap(email -> declaredQuery(email, invocation));
+            case "save" -> save((User) args[0]);
+            case "saveAndFlush" -> {
+                User saved = save((User) args[0]);
+                shards.flush();
+                yield saved;
+            }
+            case "delete" -> {
+                delete((User) args[0]);
+                yield null;
+            }
+            case "deleteById" -> {
+                findById((Long) args[0]).ifPresent(this::delete);
+                yield null;
+            }
+            case "flush" -> {
+                shards.flush();
+                yield null;
+            }
+            case "searchUsers" -> search.searchUsers(
+                    (UserSearchCriteria) args[0], (Long) args[1], (LocalDateTime) args[2], (Integer) args[3]);
+            case "streamUsers" -> {
+                search.streamUsers((UserSearchCriteria) args[0], (Consumer) args[1]);
+                yield null;
+            }
+            default -> rejected(invocation);
+        };
+    }
+
+    /* ===================== READS ===================== */
+
+    private Optional<User> findById(Long id) {
+        return shardManager.emailForId(id).flatMap(email ->
+                shards.inShard(shardManager.shardForRead(email), entityManager ->
+                        Optional.ofNullable(entityManager.find(User.class, id))));
+    }
+
+    private Optional<User> findByEmail(String email) {
+        return shards.inShard(shardManager.shardForRead(email), entityManager ->
+                entityManager.createQuery(BY_EMAIL, User.class)
+                        .setParameter("value", email)
+                        .getResultStream()
+                        .findFirst());
+    }
+
+    // runs the method's own @Query on the shard that owns the email
+    private Optional<?> declaredQuery(String email, MethodInvocation invocation) {
+
+        Method method = invocation.getMethod();
+        String jpql = method.getAnnotation(org.springframework.data.jpa.repository.Query.class).value();
+
+        return shards.inShard(shardManager.shardForRead(email), entityManager -> {
+            Query query = entityManager.createQuery(jpql);
+            Parameter[] parameters = method.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                query.setParameter(parameters[i].getAnnotation(Param.class).value(), invocation.getArguments()[i]);
+            }
+            return query.getResultStream().findFirst();
+        });
+    }
+
+    /* ===================== WRITES ===================== */
+
+    private User save(User user) {
+
+        String email = user.getEmail();
+        int shard = shardManager.shardForWrite(email);
+        user.setShardBucket(ShardManager.bucketFor(email));
+
+        if (user.getId() == null) {
+            user.setId(shardManager.register(email, user.getPhoneNumber()));
+            user.setVersion(0L);
+            user.onCreate();
+            shards.inShard(shard, entityManager -> insert(entityManager, user));
+            user.rememberShardKeys();
+            return user;
+        }
+
+        String oldEmail = user.getLoadedEmail() != null ? user.getLoadedEmail() : email;
+        String oldPhone = user.getLoadedPhoneNumber() != null ? user.getLoadedPhoneNumber() : user.getPhoneNumber();
+
+        if (!oldEmail.equals(email) || !oldPhone.equals(user.getPhoneNumber())) {
+            shardManager.rekey(user.getId(), email, user.getPhoneNumber());
+        }
+
+        int oldShard = shardManager.shardForWrite(oldEmail);
+        User saved;
+
+        if (oldShard == shard) {
+            saved = shards.inShard(shard, entityManager -> entityManager.merge(user));
+        } else {
+            // the new email hashes to another shard: the row moves there under the same id
+            shards.inShard(oldShard, entityManager -> remove(entityManager, user));
+            user.setVersion(user.getVersion() + 1);
+            user.onUpdate();
+            shards.inShard(shard, entityManager -> insert(entityManager, user));
+            saved = user;
+        }
+
+        user.rememberShardKeys();
+        saved.rememberShardKeys();
+        return saved;
+    }
+
+    private void delete(User user) {
+        String email = user.getLoadedEmail() != null ? user.getLoadedEmail() : user.getEmail();
+        shards.inShard(shardManager.shardForWrite(email), entityManager -> remove(entityManager, user));
+        shardManager.unregister(user.getId());
+    }
+
+    private static int insert(EntityManager entityManager, User user) {
+        return entityManager.createNativeQuery(INSERT)
+                .setParameter(1, user.getId())
+                .setParameter(2, user.getEmail())
+                .setParameter(3, user.getEmailCanonical())
+                .setParameter(4, user.getFirstName())
+                .setParameter(5, user.getLastName())
+                .setParameter(6, user.getPhoneNumber())
+                .setParameter(7, user.getPhoneE164())
+                .setParameter(8, user.getCity())
+                .setParameter(9, user.getPassword())
+                .setParameter(10, user.isEmailVerified())
+                .setParameter(11, user.isPhoneNumberVerified())
+                .setParameter(12, user.getRole().name())
+                .setParameter(13, user.getCreatedAt())
+                .setParameter(14, user.getUpdatedAt())
+                .setParameter(15, user.getVersion())
+                .setParameter(16, user.getShardBucket())
+                .executeUpdate();
+    }
+
+    // through the EntityManager, so the version check and any pending changes to the row are handled by JPA
+    private static Void remove(EntityManager entityManager, User user) {
+        User current = entityManager.find(User.class, user.getId());
+        if (current == null || !current.getVersion().equals(user.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(User.class, user.getId());
+        }
+        entityManager.remove(current);
+        return null;
+    }
+
+    private static Object rejected(MethodInvocation invocation) {
+        throw new InvalidDataAccessApiUsageException(
+                "UserRepository." + invocation.getMethod().getName() + " has no shard key and is not available while sharding is enabled"
+        );
+    }
+}
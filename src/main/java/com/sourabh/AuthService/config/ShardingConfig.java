@@ -0,0 +1,174 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.repository.ShardedUserSearchRepository;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enabled with sharding.enabled=true. Shard 0 is spring.datasource.url;
+ * sharding.shards.urls adds the others. Every shard needs the same schema,
+ * so the Flyway migrations are applied to each of them in turn. Any JDBC URL
+ * works, so several embedded databases are enough to run it locally.
+ *
+ * Shard 0 stays the application's DataSource (OTPs, outbox, shard directory).
+ * User rows go through a second EntityManagerFactory on the
+ * ShardRoutingDataSource, bound to the application's transactions by
+ * ShardEntityManagers. Shard pools are configured like the primary from
+ * spring.datasource.hikari.*, overridable with sharding.shards.hikari.*.
+ *
+ * Not combinable with datasource.replicas.enabled yet.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(
+            DataSourceProperties primaryProperties,
+            Environment environment,
+            @Value("${sharding.shards.urls:}") List<String> shardUrls,
+            @Value("${datasource.replicas.enabled:false}") boolean replicasEnabled
+    ) {
+        if (replicasEnabled) {
+            throw new IllegalStateException("sharding.enabled and datasource.replicas.enabled cannot be combined");
+        }
+
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = primaryProperties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(primary);
+
+        for (String url : shardUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "HikariPool")
+                    + "-shard-" + shards.size());
+            config.setJdbcUrl(url.trim());
+            binder.bind("sharding.shards.hikari", Bindable.ofInstance(config));
+
+            HikariDataSource shard = new HikariDataSource();
+            config.copyStateTo(shard);
+            shards.add(shard);
+        }
+
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // closed with the routing DataSource
+    @Bean(destroyMethod = "")
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return shardRoutingDataSource.shards().get(0);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardManager shardManager(
+            DataSource dataSource,
+            ShardRoutingDataSource shardRoutingDataSource,
+            @Value("${sharding.map-refresh-ms:5000}") long refreshIntervalMs
+    ) {
+        return new ShardManager(dataSource, shardRoutingDataSource.shards(), refreshIntervalMs);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardEntityManagers shardEntityManagers(
+            ShardRoutingDataSource shardRoutingDataSource,
+            JpaProperties jpaProperties,
+            HibernateProperties hibernateProperties,
+            EntityManagerFactory entityManagerFactory
+    ) {
+        // same mapping and naming strategies as Boot's own EntityManagerFactory
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPersistenceUnitName("user-shards");
+        factory.setDataSource(shardRoutingDataSource);
+        factory.setPackagesToScan(User.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings()));
+        factory.afterPropertiesSet();
+
+        return new ShardEntityManagers(factory.getObject(), entityManagerFactory);
+    }
+
+    // Boot's Flyway only sees the primary DataSource, i.e. shard 0
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            for (DataSource shard : shardRoutingDataSource.shards()) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shard)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor shardedUserRepositoryPostProcessor(
+            ObjectProvider<ShardManager> shardManager,
+            ObjectProvider<ShardEntityManagers> shardEntityManagers,
+            ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+            @Value("${user-search.stream-fetch-size:1000}") int streamPageSize
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof UserRepository repository)) {
+                    return bean;
+                }
+                return sharded(
+                        repository,
+                        new ShardedUserRepositoryInterceptor(
+                                shardManager.getObject(),
+                                shardEntityManagers.getObject(),
+                                new ShardedUserSearchRepository(shardRoutingDataSource.getObject().shards(), streamPageSize)
+                        )
+                );
+            }
+        };
+    }
+
+    static UserRepository sharded(UserRepository repository, ShardedUserRepositoryInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setTarget(repository);
+        factory.addInterface(UserRepository.class);
+        factory.addAdvice(interceptor);
+        return (UserRepository) factory.getProxy();
+    }
+}
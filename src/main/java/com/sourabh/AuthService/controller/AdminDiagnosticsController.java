@@ -0,0 +1,22 @@
+package com.sourabh.AuthService.controller;
+
+import com.sourabh.AuthService.util.SlowRequestRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/diagnostics")
+@RequiredArgsConstructor
+public class AdminDiagnosticsController {
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    /* ===================== SLOW REQUESTS ===================== */
+    @GetMapping("/slow-requests")
+    public ResponseEntity<?> slowRequests() {
+        return ResponseEntity.ok(slowRequestRecorder.snapshot());
+    }
+}
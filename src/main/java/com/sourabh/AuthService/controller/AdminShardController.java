@@ -0,0 +1,43 @@
+package com.sourabh.AuthService.controller;
+
+import com.sourabh.AuthService.service.contract.ReshardingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/shards")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class AdminShardController {
+
+    private final ReshardingService reshardingService;
+
+    /* ===================== TOPOLOGY ===================== */
+    @GetMapping
+    public ResponseEntity<?> bucketsPerShard() {
+        return ResponseEntity.ok(reshardingService.bucketsPerShard());
+    }
+
+    /* ===================== MOVE BUCKET ===================== */
+    @PostMapping("/buckets/{bucket}/move")
+    public ResponseEntity<?> moveBucket(
+            @PathVariable int bucket,
+            @RequestParam int targetShard
+    ) {
+        return ResponseEntity.ok(
+                Map.of("moved", reshardingService.moveBucket(bucket, targetShard))
+        );
+    }
+
+    /* ===================== REBUILD DIRECTORY ===================== */
+    @PostMapping("/directory/rebuild")
+    public ResponseEntity<?> rebuildDirectory() {
+        return ResponseEntity.ok(
+                Map.of("registered", reshardingService.rebuildDirectory())
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.sourabh.AuthService.controller;
+
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.enums.BulkFormat;
+import com.sourabh.AuthService.service.contract.BulkUserService;
+import com.sourabh.AuthService.service.contract.UserSearchService;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final BulkUserService bulkUserService;
+    private final UserSearchService userSearchService;
+    private final UserStatisticsService userStatisticsService;
+
+    /* ===================== SEARCH ===================== */
+    // ?emailPrefix=&phonePrefix=&cityPrefix=&sort=ID|CREATED_AT&limit=&cursor=<nextCursor>
+    @GetMapping
+    public ResponseEntity<?> searchUsers(@ModelAttribute UserSearchCriteria criteria) {
+        return ResponseEntity.ok(userSearchService.search(criteria));
+    }
+
+    /* ===================== SEARCH (STREAMING) ===================== */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsers(@ModelAttribute UserSearchCriteria criteria) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> userSearchService.stream(criteria, out));
+    }
+
+    /* ===================== BULK IMPORT ===================== */
+    @PostMapping("/import")
+    public ResponseEntity<?> importUsers(
+            @RequestParam(defaultValue = "CSV") BulkFormat format,
+            InputStream body
+    ) throws IOException {
+
+        return ResponseEntity.ok(
+                bulkUserService.importUsers(body, format)
+        );
+    }
+
+    /* ===================== BULK EXPORT ===================== */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "false") boolean includePasswordHash
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bulkUserService.exportUsers(out, includePasswordHash));
+    }
+
+    /* ===================== STATISTICS ===================== */
+    @GetMapping("/stats")
+    public ResponseEntity<?> statistics() {
+        return ResponseEntity.ok(userStatisticsService.snapshot());
+    }
+
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<?> reconcileStatistics() {
+        userStatisticsService.reconcile();
+        return ResponseEntity.ok(userStatisticsService.snapshot());
+    }
+}
@@ -1,7 +1,9 @@
 package com.sourabh.AuthService.controller;
 
+import com.sourabh.AuthService.config.Bulkheads;
 import com.sourabh.AuthService.dto.request.*;
 import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.enums.BulkheadType;
 import com.sourabh.AuthService.exceptions.UnauthorizedException;
 import com.sourabh.AuthService.service.contract.*;
 import jakarta.validation.Valid;
@@ -23,16 +25,19 @@ public class AuthController {
     private final AuthenticationService authenticationService;
     private final ProfileService profileService;
     private final PasswordService passwordService;
+    private final Bulkheads bulkheads;
 
     /* ===================== SIGNUP ===================== */
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request) {
 
-        registrationService.signup(request);
+        return bulkheads.call(BulkheadType.OTP_ISSUE, () -> {
+            registrationService.signup(request);
 
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(Map.of("message", "User registered successfully"));
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(Map.of("message", "User registered successfully"));
+        });
     }
 
     /* ===================== VERIFY ACCOUNT ===================== */
@@ -40,20 +45,22 @@ public class AuthController {
     public ResponseEntity<?> verifyAccount(
             @Valid @RequestBody VerifyAccountRequest request
     ) {
-        verificationService.verifyAccount(request);
+        return bulkheads.call(BulkheadType.CREDENTIALS, () -> {
+            verificationService.verifyAccount(request);
 
-        return ResponseEntity.ok(
-                Map.of("message", "Account verified successfully")
-        );
+            return ResponseEntity.ok(
+                    Map.of("message", "Account verified successfully")
+            );
+        });
     }
 
     /* ===================== LOGIN (EMAIL) ===================== */
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
 
-        return ResponseEntity.ok(
+        return bulkheads.call(BulkheadType.CREDENTIALS, () -> ResponseEntity.ok(
                 authenticationService.login(request)
-        );
+        ));
     }
 
     /* ===================== UPDATE PROFILE ===================== */
@@ -63,14 +70,16 @@ public class AuthController {
             @RequestBody UpdateUserRequest request
     ) {
         if (user == null) {
-            throw new UnauthorizedException("Unauthorized");
+            throw UnauthorizedException.UNAUTHORIZED;
         }
 
-        profileService.updateProfile(user, request);
+        return bulkheads.call(BulkheadType.PROFILE, () -> {
+            profileService.updateProfile(user, request);
 
-        return ResponseEntity.ok(
-                Map.of("message", "Profile updated successfully")
-        );
+            return ResponseEntity.ok(
+                    Map.of("message", "Profile updated successfully")
+            );
+        });
     }
 
     /* ===================== LOGIN (PHONE OTP) ===================== */
@@ -78,11 +87,13 @@ public class AuthController {
     public ResponseEntity<?> sendPhoneOtp(
             @Valid @RequestBody LoginPhoneRequest request
     ) {
-        authenticationService.sendPhoneLoginOtp(request);
+        return bulkheads.call(BulkheadType.OTP_ISSUE, () -> {
+            authenticationService.sendPhoneLoginOtp(request);
 
-        return ResponseEntity
-                .status(HttpStatus.ACCEPTED)
-                .body(Map.of("message", "OTP sent"));
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "OTP sent"));
+        });
     }
 
     /* ===================== VERIFY PHONE OTP ===================== */
@@ -90,12 +101,12 @@ public class AuthController {
     public ResponseEntity<?> verifyPhoneOtp(
             @Valid @RequestBody VerifyPhoneOtpRequest request
     ) {
-        return ResponseEntity.ok(
+        return bulkheads.call(BulkheadType.CREDENTIALS, () -> ResponseEntity.ok(
                 Map.of(
                         "token",
                         authenticationService.verifyPhoneLoginOtp(request)
                 )
-        );
+        ));
     }
 
     /* ===================== FORGOT PASSWORD ===================== */
@@ -103,11 +114,13 @@ public class AuthController {
     public ResponseEntity<?> forgotPassword(
             @Valid @RequestBody ResetPasswordOtpRequest request
     ) {
-        passwordService.forgotPasswordOtp(request);
+        return bulkheads.call(BulkheadType.OTP_ISSUE, () -> {
+            passwordService.forgotPasswordOtp(request);
 
-        return ResponseEntity
-                .status(HttpStatus.ACCEPTED)
-                .body(Map.of("message", "OTP sent"));
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(Map.of("message", "OTP sent"));
+        });
     }
 
     /* ===================== RESET PASSWORD ===================== */
@@ -115,11 +128,13 @@ public class AuthController {
     public ResponseEntity<?> resetPassword(
             @Valid @RequestBody VerifyEmailOtpRequest request
     ) {
-        passwordService.resetPassword(request);
+        return bulkheads.call(BulkheadType.CREDENTIALS, () -> {
+            passwordService.resetPassword(request);
 
-        return ResponseEntity.ok(
-                Map.of("message", "Password reset successful")
-        );
+            return ResponseEntity.ok(
+                    Map.of("message", "Password reset successful")
+            );
+        });
     }
 
     /* ===================== CHANGE PASSWORD ===================== */
@@ -129,13 +144,15 @@ public class AuthController {
             @Valid @RequestBody ChangePasswordRequest request
     ) {
         if (user == null) {
-            throw new UnauthorizedException("Unauthorized");
+            throw UnauthorizedException.UNAUTHORIZED;
         }
 
-        passwordService.changePassword(user, request);
+        return bulkheads.call(BulkheadType.CREDENTIALS, () -> {
+            passwordService.changePassword(user, request);
 
-        return ResponseEntity.ok(
-                Map.of("message", "Password changed successfully")
-        );
+            return ResponseEntity.ok(
+                    Map.of("message", "Password changed successfully")
+            );
+        });
     }
 }
@@ -0,0 +1,22 @@
+package com.sourabh.AuthService.dto.projection;
+
+/**
+ * Read-only slice of User for the login paths. Loaded via a JPQL constructor
+ * expression, so it is never managed, snapshotted or dirty-checked.
+ */
+public record UserAuthView(
+        Long id,
+        String email,
+        String password,
+        boolean emailVerified,
+        boolean phoneNumberVerified,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String city
+) {
+
+    public boolean isFullyVerified() {
+        return emailVerified && phoneNumberVerified;
+    }
+}
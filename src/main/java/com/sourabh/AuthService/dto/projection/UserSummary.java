@@ -0,0 +1,19 @@
+package com.sourabh.AuthService.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * What admin search returns per user; never includes the password hash.
+ */
+public record UserSummary(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String phoneNumber,
+        String city,
+        boolean emailVerified,
+        boolean phoneNumberVerified,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,22 @@
+package com.sourabh.AuthService.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUserRow {
+
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String phoneNumber;
+    private String city;
+
+    // either a raw password (hashed on import) or an existing BCrypt hash
+    private String password;
+    private String passwordHash;
+
+    private Boolean emailVerified;
+    private Boolean phoneNumberVerified;
+}
@@ -0,0 +1,19 @@
+package com.sourabh.AuthService.dto.request;
+
+import com.sourabh.AuthService.enums.UserSearchSort;
+import lombok.Data;
+
+@Data
+public class UserSearchCriteria {
+
+    private String emailPrefix;
+    private String phonePrefix;
+    private String cityPrefix;
+
+    private UserSearchSort sort = UserSearchSort.ID;
+
+    // opaque, taken from the previous page's nextCursor
+    private String cursor;
+
+    private int limit = 50;
+}
@@ -0,0 +1,27 @@
+package com.sourabh.AuthService.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkImportResponse {
+
+    private long total;
+    private long imported;
+    private long failed;
+
+    // capped, see BulkUserServiceImpl.MAX_REPORTED_ERRORS
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String email;
+        private String message;
+    }
+}
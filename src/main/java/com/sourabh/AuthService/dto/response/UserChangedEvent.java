@@ -0,0 +1,31 @@
+package com.sourabh.AuthService.dto.response;
+
+import com.sourabh.AuthService.enums.UserEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * What downstream consumers receive. Carries the full public profile so a
+ * consumer can update its cache without calling back; eventId only grows,
+ * so it doubles as the dedupe / ordering key for at-least-once delivery.
+ */
+public record UserChangedEvent(
+        long eventId,
+        UserEventType type,
+        LocalDateTime occurredAt,
+        Snapshot user
+) {
+
+    // stored as the outbox payload
+    public record Snapshot(
+            Long id,
+            String email,
+            String firstName,
+            String lastName,
+            String phoneNumber,
+            String city,
+            boolean emailVerified,
+            boolean phoneNumberVerified
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.sourabh.AuthService.dto.response;
+
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class UserSearchResponse {
+
+    private List<UserSummary> users;
+
+    // null on the last page
+    private String nextCursor;
+}
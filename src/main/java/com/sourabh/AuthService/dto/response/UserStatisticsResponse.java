@@ -0,0 +1,36 @@
+package com.sourabh.AuthService.dto.response;
+
+import com.sourabh.AuthService.enums.OtpType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+public class UserStatisticsResponse {
+
+    private long totalUsers;
+
+    // both email and phone verified
+    private long verifiedUsers;
+
+    // oldest day first
+    private Map<LocalDate, Long> signupsPerDay;
+
+    private Map<OtpType, OtpVerifications> otpVerifications;
+
+    // null until the first reconciliation with the database has finished
+    private LocalDateTime reconciledAt;
+
+    @Data
+    @AllArgsConstructor
+    public static class OtpVerifications {
+        private long succeeded;
+        private long failed;
+        private double successRate;
+    }
+}
@@ -3,15 +3,19 @@ package com.sourabh.AuthService.entity;
 import com.sourabh.AuthService.enums.OtpType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(
         indexes = {
-                @Index(name = "idx_otp_email", columnList = "email"),
-                @Index(name = "idx_otp_phone", columnList = "phone"),
-                @Index(name = "idx_otp_type", columnList = "type")
+                // at most one active OTP per (type, target), see OtpServiceImpl#createOtp
+                @Index(name = "ux_otp_active_slot", columnList = "active_slot", unique = true),
+                // lookups are (email | phone, type), newest first; see V8__otp_lookup_indexes.sql
+                @Index(name = "idx_otp_email_type_created", columnList = "email, type, created_at"),
+                @Index(name = "idx_otp_phone_type_created", columnList = "phone, type, created_at")
         }
 )
 @Getter
@@ -31,6 +35,10 @@ public class Otp {
     @Column(nullable = false)
     private String otpHash;
 
+    // "TYPE:target" while this is the current OTP for its target, null once superseded
+    @Column(length = 300)
+    private String activeSlot;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OtpType type;
@@ -0,0 +1,49 @@
+package com.sourabh.AuthService.entity;
+
+import com.sourabh.AuthService.enums.UserEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user-change event, written in the same transaction as the change itself
+ * and delivered later by OutboxRelay.
+ */
+@Entity
+@Table(
+        name = "outbox_event",
+        indexes = {
+                // relay scan: undelivered rows in id order
+                @Index(name = "idx_outbox_pending", columnList = "published_at, id")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private UserEventType type;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // JSON of UserChangedEvent.Snapshot: the user as of this change
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime publishedAt;
+}
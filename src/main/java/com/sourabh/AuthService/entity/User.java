@@ -1,14 +1,28 @@
 package com.sourabh.AuthService.entity;
 
+import com.sourabh.AuthService.enums.Role;
+import com.sourabh.AuthService.util.Canonical;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@Table(
+        indexes = {
+                // every lookup goes through the canonical columns
+                @Index(name = "ux_user_email_canonical", columnList = "email_canonical", unique = true),
+                @Index(name = "ux_user_phone_e164", columnList = "phone_e164", unique = true),
+                // admin search: city prefix filter and created_at keyset paging
+                @Index(name = "idx_user_city", columnList = "city"),
+                @Index(name = "idx_user_created_at_id", columnList = "created_at, id")
+        }
+)
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
@@ -20,6 +34,10 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
 
+    // trimmed + lower-cased email, derived on every write (see Canonical)
+    @Column(length = 255)
+    private String emailCanonical;
+
     @Column(nullable = false)
     private String firstName;
 
@@ -29,6 +47,10 @@ public class User {
     @Column(unique = true, nullable = false)
     private String phoneNumber;
 
+    // E.164 form of phoneNumber, derived on every write
+    @Column(name = "phone_e164", length = 20)
+    private String phoneE164;
+
     @Column(nullable = false)
     private String city;
 
@@ -43,18 +65,54 @@ public class User {
     @Column(nullable = false)
     private boolean phoneNumberVerified = false;
 
+    // ADMIN unlocks /api/v1/admin/**; only ever granted directly in the database
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role = Role.USER;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
 
+    // optimistic lock: concurrent updates from two devices fail instead of last-writer-wins
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // hash bucket of the email, only maintained when sharding is enabled
+    private Integer shardBucket;
+
+    // email / phone as last loaded or saved, so a sharded save can tell what moved
+    @Transient
+    private String loadedEmail;
+
+    @Transient
+    private String loadedPhoneNumber;
+
     @PrePersist
     public void onCreate() {
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        canonicalize();
+    }
+
+    @PostLoad
+    public void rememberShardKeys() {
+        this.loadedEmail = email;
+        this.loadedPhoneNumber = phoneNumber;
     }
 
     @PreUpdate
     public void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        canonicalize();
+    }
+
+    private void canonicalize() {
+        this.emailCanonical = Canonical.email(email);
+        this.phoneE164 = Canonical.phone(phoneNumber);
     }
 }
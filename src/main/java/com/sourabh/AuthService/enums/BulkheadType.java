@@ -0,0 +1,42 @@
+package com.sourabh.AuthService.enums;
+
+/**
+ * Endpoint classes that get their own executor. Defaults can be overridden
+ * with bulkhead.&lt;key&gt;.threads / queue / queue-timeout-ms.
+ */
+public enum BulkheadType {
+
+    // send an OTP: SMTP / SMS bound
+    OTP_ISSUE("otp-issue", 16, 32, 5000),
+    // BCrypt + JWT, must stay available whatever the mail server does
+    CREDENTIALS("credentials", 32, 64, 3000),
+    PROFILE("profile", 8, 16, 5000);
+
+    private final String key;
+    private final int defaultThreads;
+    private final int defaultQueue;
+    private final long defaultQueueTimeoutMs;
+
+    BulkheadType(String key, int defaultThreads, int defaultQueue, long defaultQueueTimeoutMs) {
+        this.key = key;
+        this.defaultThreads = defaultThreads;
+        this.defaultQueue = defaultQueue;
+        this.defaultQueueTimeoutMs = defaultQueueTimeoutMs;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int defaultThreads() {
+        return defaultThreads;
+    }
+
+    public int defaultQueue() {
+        return defaultQueue;
+    }
+
+    public long defaultQueueTimeoutMs() {
+        return defaultQueueTimeoutMs;
+    }
+}
@@ -0,0 +1,8 @@
+package com.sourabh.AuthService.enums;
+
+public enum UserEventType {
+    USER_CREATED,
+    USER_VERIFIED,
+    PROFILE_UPDATED,
+    PASSWORD_CHANGED
+}
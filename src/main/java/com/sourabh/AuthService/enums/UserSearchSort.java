@@ -0,0 +1,6 @@
+package com.sourabh.AuthService.enums;
+
+public enum UserSearchSort {
+    ID,
+    CREATED_AT
+}
@@ -4,8 +4,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends DomainException {
+
+    public static final BadRequestException INVALID_CREDENTIALS = new BadRequestException("Invalid credentials");
+    public static final BadRequestException ACCOUNT_NOT_VERIFIED = new BadRequestException("Account not verified");
+    public static final BadRequestException PASSWORDS_DO_NOT_MATCH = new BadRequestException("Passwords do not match");
+    public static final BadRequestException PASSWORD_BREACHED = new BadRequestException("This password has appeared in a data breach, please choose another");
+    public static final BadRequestException OTP_EXPIRED = new BadRequestException("OTP expired or invalid");
+    public static final BadRequestException OTP_INVALID = new BadRequestException("Invalid OTP");
+    public static final BadRequestException OTP_ATTEMPTS_EXCEEDED = new BadRequestException("OTP attempts exceeded");
+    public static final BadRequestException OTP_COOLDOWN = new BadRequestException("Please wait before requesting another OTP");
+
     public BadRequestException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.sourabh.AuthService.exceptions;
+
+/**
+ * Base for expected, client-caused failures. They are control flow rather
+ * than bugs, so no stack trace is captured and suppression is disabled;
+ * that also makes the fixed-message instances safe to share as constants.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
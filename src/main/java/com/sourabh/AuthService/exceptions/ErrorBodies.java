@@ -0,0 +1,70 @@
+package com.sourabh.AuthService.exceptions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-serialized error bodies. Everything but the timestamp is fixed per
+ * (status, message), so that part is rendered once and reused; only the
+ * timestamp is formatted per response.
+ *
+ * Bounded: messages carrying request data (validation details, ids) stop
+ * being cached once the limit is reached and are rendered on the fly.
+ */
+final class ErrorBodies {
+
+    private static final int MAX_ENTRIES = 512;
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Key, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    ErrorBodies(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    byte[] render(HttpStatus status, String message) {
+
+        Key key = new Key(status, message);
+        byte[] prefix = prefixes.get(key);
+        if (prefix == null) {
+            prefix = prefix(status, message);
+            if (prefixes.size() < MAX_ENTRIES) {
+                prefixes.putIfAbsent(key, prefix);
+            }
+        }
+
+        byte[] timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME
+                .format(LocalDateTime.now())
+                .getBytes(StandardCharsets.US_ASCII);
+
+        byte[] body = new byte[prefix.length + timestamp.length + SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+        System.arraycopy(SUFFIX, 0, body, prefix.length + timestamp.length, SUFFIX.length);
+        return body;
+    }
+
+    // {"status":400,"error":"Bad Request","message":"...","timestamp":"
+    private byte[] prefix(HttpStatus status, String message) {
+        try {
+            return ("{\"status\":" + status.value()
+                    + ",\"error\":" + objectMapper.writeValueAsString(status.getReasonPhrase())
+                    + ",\"message\":" + objectMapper.writeValueAsString(message)
+                    + ",\"timestamp\":\"")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize error message", ex);
+        }
+    }
+
+    private record Key(HttpStatus status, String message) {
+    }
+}
@@ -1,6 +1,12 @@
 package com.sourabh.AuthService.exceptions;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.util.UniqueViolations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -8,13 +14,16 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ErrorBodies errorBodies;
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.errorBodies = new ErrorBodies(objectMapper);
+    }
+
     /* ===================== 400 BAD REQUEST ===================== */
 
     @ExceptionHandler(BadRequestException.class)
@@ -59,6 +68,30 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.UNAUTHORIZED, ex.getMessage());
     }
 
+    /* ===================== 409 CONFLICT ===================== */
+
+    // unique email / phone constraints racing the pre-checks; anything else is a bug, not a conflict
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleConflict(DataIntegrityViolationException ex) {
+        if (UniqueViolations.column(ex).isPresent()) {
+            return build(HttpStatus.CONFLICT, "Email or phone number already in use");
+        }
+        log.error("Unexpected data integrity violation", ex);
+        return build(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        return build(HttpStatus.CONFLICT, "Account was modified by another request, please reload and retry");
+    }
+
+    /* ===================== 503 SERVICE UNAVAILABLE ===================== */
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     /* ===================== 500 INTERNAL SERVER ERROR ===================== */
 
     @ExceptionHandler(Exception.class)
@@ -69,14 +102,10 @@ public class GlobalExceptionHandler {
 
     /* ===================== RESPONSE BUILDER ===================== */
 
-    private ResponseEntity<Map<String, Object>> build(HttpStatus status, String message) {
-
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
-
-        return new ResponseEntity<>(body, status);
+    // same JSON as before (timestamp, status, error, message), written as pre-serialized bytes
+    private ResponseEntity<byte[]> build(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.render(status, message));
     }
 }
@@ -4,8 +4,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends DomainException {
+
+    public static final NotFoundException INVALID_CREDENTIALS = new NotFoundException("Invalid credentials");
+    public static final NotFoundException USER_NOT_FOUND = new NotFoundException("User not found");
+
     public NotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.UNAUTHORIZED)
-public class UnauthorizedException extends RuntimeException {
+public class UnauthorizedException extends DomainException {
+
+    public static final UnauthorizedException UNAUTHORIZED = new UnauthorizedException("Unauthorized");
+
     public UnauthorizedException(String message) {
         super(message);
     }
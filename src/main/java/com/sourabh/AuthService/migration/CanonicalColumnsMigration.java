@@ -0,0 +1,221 @@
+package com.sourabh.AuthService.migration;
+
+import com.sourabh.AuthService.util.Canonical;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * V12: fills email_canonical / phone_e164 (V5) for rows written before
+ * those columns existed. Registered with Flyway as a bean, so it runs once,
+ * with the other migrations, on every shard.
+ *
+ * Keyset-paged on id, one short transaction per batch; rows already filled
+ * are skipped, so a re-run picks up where a failed one stopped.
+ *
+ * Accounts that only differed by case or phone formatting collide on the
+ * unique indexes (V6). Login would find neither of them by canonical value,
+ * so instead of leaving them NULL the migration fills everything else and
+ * then fails with a report of the colliding ids. Merge or rename those
+ * accounts, run flyway repair and restart. Collisions between shards are
+ * caught by the directory instead (ReshardingService.rebuildDirectory).
+ */
+@Slf4j
+@Component
+public class CanonicalColumnsMigration implements JavaMigration {
+
+    static final int BATCH_SIZE = 1000;
+    private static final int REPORTED_COLLISIONS = 100;
+
+    private static final String SELECT_SQL = """
+        SELECT id, email, phone_number
+        FROM `user`
+        WHERE id > ? AND (email_canonical IS NULL OR phone_e164 IS NULL)
+        ORDER BY id
+        LIMIT ?
+    """;
+
+    private static final String UPDATE_SQL =
+            "UPDATE `user` SET email_canonical = ?, phone_e164 = ? WHERE id = ?";
+    private static final String UPDATE_EMAIL_SQL =
+            "UPDATE `user` SET email_canonical = ? WHERE id = ? AND email_canonical IS NULL";
+    private static final String UPDATE_PHONE_SQL =
+            "UPDATE `user` SET phone_e164 = ? WHERE id = ? AND phone_e164 IS NULL";
+    private static final String HOLDER_SQL =
+            "SELECT id FROM `user` WHERE email_canonical = ? OR phone_e164 = ?";
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("12");
+    }
+
+    @Override
+    public String getDescription() {
+        return "user canonical backfill";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    // batches commit on their own, so a large table is never one long transaction
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        List<String> collisions = new ArrayList<>();
+        long updated = 0;
+        long lastId = 0;
+
+        try {
+            while (true) {
+                List<Row> rows = select(connection, lastId);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                updated += update(connection, rows, collisions);
+                connection.commit();
+                lastId = rows.get(rows.size() - 1).id();
+            }
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+
+        log.info("Canonical email/phone backfill: {} rows updated, {} collisions", updated, collisions.size());
+
+        if (!collisions.isEmpty()) {
+            throw new FlywayException(collisions.size() + " accounts collide with another account on their"
+                    + " canonical email or phone and were left unfilled. Merge or rename them, then run"
+                    + " flyway repair and restart:\n  "
+                    + String.join("\n  ", collisions.subList(0, Math.min(REPORTED_COLLISIONS, collisions.size())))
+                    + (collisions.size() > REPORTED_COLLISIONS ? "\n  ..." : ""));
+        }
+    }
+
+    /* ===================== BATCHES ===================== */
+
+    private static List<Row> select(Connection connection, long lastId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+            select.setLong(1, lastId);
+            select.setInt(2, BATCH_SIZE);
+            List<Row> rows = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new Row(rs.getLong(1), rs.getString(2), rs.getString(3)));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static long update(Connection connection, List<Row> rows, List<String> collisions) throws SQLException {
+
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            for (Row row : rows) {
+                update.setString(1, Canonical.email(row.email()));
+                update.setString(2, Canonical.phone(row.phone()));
+                update.setLong(3, row.id());
+                update.addBatch();
+            }
+            update.executeBatch();
+            return rows.size();
+        } catch (SQLException ex) {
+            if (!isDuplicate(ex)) {
+                throw ex;
+            }
+        }
+
+        // at least one collision in the batch: redo it row by row, column by column, to isolate them
+        connection.rollback();
+        long updated = 0;
+        for (Row row : rows) {
+            String email = Canonical.email(row.email());
+            String phone = Canonical.phone(row.phone());
+            boolean emailFilled = fill(connection, UPDATE_EMAIL_SQL, email, row.id());
+            boolean phoneFilled = fill(connection, UPDATE_PHONE_SQL, phone, row.id());
+
+            if (emailFilled && phoneFilled) {
+                updated++;
+            } else {
+                List<String> columns = new ArrayList<>();
+                if (!emailFilled) {
+                    columns.add("email " + email);
+                }
+                if (!phoneFilled) {
+                    columns.add("phone " + phone);
+                }
+                String collision = "user " + row.id() + " (" + String.join(", ", columns) + ") collides with user "
+                        + holder(connection, emailFilled ? null : email, phoneFilled ? null : phone);
+                log.warn("Canonical backfill: {}", collision);
+                collisions.add(collision);
+            }
+        }
+        return updated;
+    }
+
+    private static boolean fill(Connection connection, String sql, String value, long id) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(sql)) {
+            update.setString(1, value);
+            update.setLong(2, id);
+            update.executeUpdate();
+            return true;
+        } catch (SQLException ex) {
+            if (!isDuplicate(ex)) {
+                throw ex;
+            }
+            return false;
+        }
+    }
+
+    private static String holder(Connection connection, String email, String phone) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(HOLDER_SQL)) {
+            select.setString(1, email);
+            select.setString(2, phone);
+            List<String> ids = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+            }
+            return String.join(", ", ids);
+        }
+    }
+
+    // MySQL error 1062 / SQLState 23505: duplicate key; batch failures carry it as a cause or next exception
+    private static boolean isDuplicate(SQLException ex) {
+        for (SQLException sql = ex; sql != null; sql = sql.getNextException()) {
+            for (Throwable cause = sql; cause != null; cause = cause.getCause()) {
+                if (cause instanceof SQLException state
+                        && (state.getErrorCode() == 1062 || "23505".equals(state.getSQLState()))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Row(long id, String email, String phone) {
+    }
+}
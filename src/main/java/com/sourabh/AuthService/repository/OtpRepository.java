@@ -2,11 +2,16 @@ package com.sourabh.AuthService.repository;
 
 import com.sourabh.AuthService.entity.Otp;
 import com.sourabh.AuthService.enums.OtpType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface OtpRepository extends JpaRepository<Otp, Long> {
@@ -40,4 +45,60 @@ public interface OtpRepository extends JpaRepository<Otp, Long> {
             @Param("type") OtpType type,
             @Param("now") LocalDateTime now
     );
+
+    // both account-verification OTPs in one round-trip, locked until the verify commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT o
+        FROM Otp o
+        WHERE ((o.email = :email AND o.type = com.sourabh.AuthService.enums.OtpType.EMAIL_VERIFICATION)
+            OR (o.phone = :phone AND o.type = com.sourabh.AuthService.enums.OtpType.PHONE_VERIFICATION))
+          AND o.verified = false
+          AND o.expiry > :now
+        ORDER BY o.createdAt DESC
+    """)
+    List<Otp> findValidAccountOtps(
+            @Param("email") String email,
+            @Param("phone") String phone,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Frees the active slot for a new OTP, if its holder is verified,
+     * expired or past the resend cooldown. The superseded OTP stops being
+     * valid, so a target never has more than one usable code.
+     *
+     * @return 0 when the slot is empty or its holder is still in its cooldown
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Otp o
+        SET o.activeSlot = NULL,
+            o.expiry = CASE WHEN o.expiry > :now THEN :now ELSE o.expiry END
+        WHERE o.activeSlot = :slot
+          AND (o.verified = true OR o.expiry <= :now OR o.createdAt <= :cooldownStart)
+    """)
+    int releaseSlot(
+            @Param("slot") String slot,
+            @Param("now") LocalDateTime now,
+            @Param("cooldownStart") LocalDateTime cooldownStart
+    );
+
+    // an increment in SQL, so concurrent wrong guesses all count
+    @Transactional
+    @Modifying
+    @Query("UPDATE Otp o SET o.attempts = o.attempts + 1 WHERE o.id = :id")
+    int recordFailedAttempt(@Param("id") long id);
+
+    // undoes an issue whose surrounding transaction rolled back: no longer valid, slot free
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Otp o
+        SET o.activeSlot = NULL,
+            o.expiry = :now
+        WHERE o.id = :id
+    """)
+    int withdraw(@Param("id") long id, @Param("now") LocalDateTime now);
 }
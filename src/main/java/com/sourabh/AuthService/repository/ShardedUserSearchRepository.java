@@ -0,0 +1,72 @@
+package com.sourabh.AuthService.repository;
+
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.enums.UserSearchSort;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Admin search across every shard. Each shard is asked for a page with the
+ * same keyset and the pages are merged; user ids are global (ShardManager),
+ * so the merged order is the same one a single database would give.
+ */
+public class ShardedUserSearchRepository implements UserSearchRepository {
+
+    private static final Comparator<UserSummary> BY_ID = Comparator.comparing(UserSummary::id);
+
+    private static final Comparator<UserSummary> BY_CREATED_AT =
+            Comparator.comparing(UserSummary::createdAt).thenComparing(UserSummary::id);
+
+    private final List<UserSearchRepository> shards;
+    private final int streamPageSize;
+
+    public ShardedUserSearchRepository(List<DataSource> shards, int streamPageSize) {
+        this.shards = shards.stream()
+                .<UserSearchRepository>map(shard -> new UserSearchRepositoryImpl(shard, streamPageSize))
+                .toList();
+        this.streamPageSize = streamPageSize;
+    }
+
+    @Override
+    public List<UserSummary> searchUsers(
+            UserSearchCriteria criteria,
+            Long afterId,
+            LocalDateTime afterCreatedAt,
+            int limit
+    ) {
+        List<UserSummary> merged = new ArrayList<>();
+        for (UserSearchRepository shard : shards) {
+            merged.addAll(shard.searchUsers(criteria, afterId, afterCreatedAt, limit));
+        }
+
+        merged.sort(criteria.getSort() == UserSearchSort.CREATED_AT ? BY_CREATED_AT : BY_ID);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    // keyset pages in id order rather than one cursor per shard, so memory stays at one page per shard
+    @Override
+    public void streamUsers(UserSearchCriteria criteria, Consumer<UserSummary> sink) {
+
+        UserSearchCriteria byId = new UserSearchCriteria();
+        byId.setEmailPrefix(criteria.getEmailPrefix());
+        byId.setPhonePrefix(criteria.getPhonePrefix());
+        byId.setCityPrefix(criteria.getCityPrefix());
+        byId.setSort(UserSearchSort.ID);
+
+        Long afterId = null;
+        while (true) {
+            List<UserSummary> page = searchUsers(byId, afterId, null, streamPageSize);
+            page.forEach(sink);
+            if (page.size() < streamPageSize) {
+                return;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+    }
+}
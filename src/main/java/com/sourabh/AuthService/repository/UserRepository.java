@@ -1,16 +1,52 @@
 package com.sourabh.AuthService.repository;
 
+import com.sourabh.AuthService.dto.projection.UserAuthView;
 import com.sourabh.AuthService.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+// read-only lookups may be served by a replica unless they join a read-write transaction
+// lookups take canonical values (util.Canonical) and hit the unique canonical indexes
+public interface UserRepository extends JpaRepository<User, Long>, UserSearchRepository {
 
-    Optional<User> findByEmail(String email);
-    Optional<User> findByPhoneNumber(String phoneNumber);
+    @Transactional(readOnly = true)
+    Optional<User> findByEmailCanonical(String emailCanonical);
 
+    @Transactional(readOnly = true)
+    Optional<User> findByPhoneE164(String phoneE164);
 
-    boolean existsByEmail(String email);
-    boolean existsByPhoneNumber(String phoneNumber);
+
+    @Transactional(readOnly = true)
+    boolean existsByEmailCanonical(String emailCanonical);
+
+    @Transactional(readOnly = true)
+    boolean existsByPhoneE164(String phoneE164);
+
+    /* ===================== PROJECTIONS ===================== */
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT new com.sourabh.AuthService.dto.projection.UserAuthView(
+            u.id, u.email, u.password, u.emailVerified, u.phoneNumberVerified,
+            u.firstName, u.lastName, u.phoneNumber, u.city
+        )
+        FROM User u
+        WHERE u.emailCanonical = :emailCanonical
+    """)
+    Optional<UserAuthView> findAuthViewByEmailCanonical(@Param("emailCanonical") String emailCanonical);
+
+    @Transactional(readOnly = true)
+    @Query("""
+        SELECT new com.sourabh.AuthService.dto.projection.UserAuthView(
+            u.id, u.email, u.password, u.emailVerified, u.phoneNumberVerified,
+            u.firstName, u.lastName, u.phoneNumber, u.city
+        )
+        FROM User u
+        WHERE u.phoneE164 = :phoneE164
+    """)
+    Optional<UserAuthView> findAuthViewByPhoneE164(@Param("phoneE164") String phoneE164);
 }
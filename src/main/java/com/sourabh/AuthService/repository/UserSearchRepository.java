@@ -0,0 +1,27 @@
+package com.sourabh.AuthService.repository;
+
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Admin search fragment of UserRepository. Filters are prefix matches, so
+ * they can use the email / phone / city indexes; paging is keyset based
+ * (WHERE key > last seen key), so page 1000 costs the same as page 1.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * @param afterId        id of the last row of the previous page, null for the first page
+     * @param afterCreatedAt its createdAt, only used when sorting by CREATED_AT
+     */
+    List<UserSummary> searchUsers(UserSearchCriteria criteria, Long afterId, LocalDateTime afterCreatedAt, int limit);
+
+    /**
+     * Every match, in id order, pushed to the sink while the result set streams.
+     */
+    void streamUsers(UserSearchCriteria criteria, Consumer<UserSummary> sink);
+}
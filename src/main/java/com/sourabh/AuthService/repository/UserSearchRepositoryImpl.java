@@ -0,0 +1,122 @@
+package com.sourabh.AuthService.repository;
+
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.enums.UserSearchSort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final String SELECT = """
+        SELECT id, email, first_name, last_name, phone_number, city,
+               email_verified, phone_number_verified, created_at
+        FROM user
+        WHERE 1 = 1
+    """;
+
+    private static final RowMapper<UserSummary> SUMMARY = (rs, i) -> new UserSummary(
+            rs.getLong("id"),
+            rs.getString("email"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("phone_number"),
+            rs.getString("city"),
+            rs.getBoolean("email_verified"),
+            rs.getBoolean("phone_number_verified"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    UserSearchRepositoryImpl(
+            DataSource dataSource,
+            @Value("${user-search.stream-fetch-size:1000}") int streamFetchSize
+    ) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(streamFetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserSummary> searchUsers(
+            UserSearchCriteria criteria,
+            Long afterId,
+            LocalDateTime afterCreatedAt,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT);
+        filters(criteria, sql, params);
+
+        boolean byCreatedAt = criteria.getSort() == UserSearchSort.CREATED_AT;
+
+        if (afterId != null) {
+            params.addValue("afterId", afterId);
+            if (byCreatedAt) {
+                params.addValue("afterCreatedAt", Timestamp.valueOf(afterCreatedAt));
+                sql.append(" AND (created_at > :afterCreatedAt OR (created_at = :afterCreatedAt AND id > :afterId))");
+            } else {
+                sql.append(" AND id > :afterId");
+            }
+        }
+
+        sql.append(byCreatedAt ? " ORDER BY created_at, id" : " ORDER BY id");
+        sql.append(" LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, SUMMARY);
+    }
+
+    // read-only like searchUsers, so the full-table export runs on a replica
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUsers(UserSearchCriteria criteria, Consumer<UserSummary> sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder(SELECT);
+        filters(criteria, sql, params);
+        sql.append(" ORDER BY id");
+
+        streamingJdbcTemplate.query(sql.toString(), params, (RowCallbackHandler) rs ->
+                sink.accept(SUMMARY.mapRow(rs, 0))
+        );
+    }
+
+    /* ===================== FILTERS ===================== */
+
+    // prefix LIKE only: a leading wildcard would turn every search into a full scan
+    private static void filters(UserSearchCriteria criteria, StringBuilder sql, MapSqlParameterSource params) {
+        prefix(sql, params, "email", criteria.getEmailPrefix());
+        prefix(sql, params, "phone_number", criteria.getPhonePrefix());
+        prefix(sql, params, "city", criteria.getCityPrefix());
+    }
+
+    private static void prefix(StringBuilder sql, MapSqlParameterSource params, String column, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        sql.append(" AND ").append(column).append(" LIKE :").append(column).append(" ESCAPE '!'");
+        params.addValue(column, escapeLike(value.trim()) + "%");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+}
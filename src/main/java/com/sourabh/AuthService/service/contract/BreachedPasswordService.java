@@ -0,0 +1,10 @@
+package com.sourabh.AuthService.service.contract;
+
+public interface BreachedPasswordService {
+
+    /**
+     * True when the password appears in the loaded breach dataset.
+     * Always false while no dataset is configured or loaded.
+     */
+    boolean isBreached(String password);
+}
@@ -0,0 +1,15 @@
+package com.sourabh.AuthService.service.contract;
+
+import com.sourabh.AuthService.dto.response.BulkImportResponse;
+import com.sourabh.AuthService.enums.BulkFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface BulkUserService {
+
+    BulkImportResponse importUsers(InputStream in, BulkFormat format) throws IOException;
+
+    void exportUsers(OutputStream out, boolean includePasswordHash) throws IOException;
+}
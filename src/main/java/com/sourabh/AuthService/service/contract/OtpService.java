@@ -11,4 +11,6 @@ public interface OtpService {
     void verifyEmailOtp(String email, String otp, OtpType type);
 
     void verifyPhoneOtp(String phone, String otp, OtpType type);
+
+    void verifyAccountOtps(String email, String emailOtp, String phone, String phoneOtp);
 }
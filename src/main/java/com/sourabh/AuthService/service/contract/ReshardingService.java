@@ -0,0 +1,12 @@
+package com.sourabh.AuthService.service.contract;
+
+import java.util.Map;
+
+public interface ReshardingService {
+
+    Map<Integer, Integer> bucketsPerShard();
+
+    long moveBucket(int bucket, int targetShard);
+
+    long rebuildDirectory();
+}
@@ -0,0 +1,18 @@
+package com.sourabh.AuthService.service.contract;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A single SMS provider. Implementations must be thread-safe; retries,
+ * batching and circuit breaking are handled by the dispatcher in front of it.
+ */
+public interface SmsGateway {
+
+    String name();
+
+    void send(List<Message> batch) throws IOException;
+
+    record Message(String to, String text) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.sourabh.AuthService.service.contract;
+
+public interface SmsService {
+    void sendOtp(String phone, String otp);
+}
@@ -0,0 +1,10 @@
+package com.sourabh.AuthService.service.contract;
+
+public interface UniquenessService {
+
+    boolean isEmailTaken(String email);
+
+    boolean isPhoneTaken(String phoneNumber);
+
+    void registered(String email, String phoneNumber);
+}
@@ -0,0 +1,13 @@
+package com.sourabh.AuthService.service.contract;
+
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.enums.UserEventType;
+
+public interface UserEventPublisher {
+
+    /**
+     * Records the event in the outbox. Must be called inside the transaction
+     * that makes the change, so the event exists if and only if it commits.
+     */
+    void publish(UserEventType type, User user);
+}
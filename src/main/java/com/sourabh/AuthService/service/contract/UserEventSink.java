@@ -0,0 +1,18 @@
+package com.sourabh.AuthService.service.contract;
+
+import com.sourabh.AuthService.dto.response.UserChangedEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where the outbox relay delivers user-change events (a broker producer in
+ * production). Delivery is at-least-once: a batch is retried until send
+ * returns, so implementations must tolerate seeing events again.
+ */
+public interface UserEventSink {
+
+    String name();
+
+    void send(List<UserChangedEvent> batch) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.sourabh.AuthService.service.contract;
+
+import com.sourabh.AuthService.dto.projection.UserAuthView;
+import com.sourabh.AuthService.entity.User;
+
+import java.util.Optional;
+
+public interface UserLookupService {
+
+    Optional<User> findByEmail(String email);
+
+    Optional<UserAuthView> findAuthViewByEmail(String email);
+
+    Optional<UserAuthView> findAuthViewByPhoneNumber(String phoneNumber);
+}
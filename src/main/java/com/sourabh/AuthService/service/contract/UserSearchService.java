@@ -0,0 +1,14 @@
+package com.sourabh.AuthService.service.contract;
+
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.dto.response.UserSearchResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserSearchService {
+
+    UserSearchResponse search(UserSearchCriteria criteria);
+
+    void stream(UserSearchCriteria criteria, OutputStream out) throws IOException;
+}
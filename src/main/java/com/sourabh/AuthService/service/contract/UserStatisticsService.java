@@ -0,0 +1,33 @@
+package com.sourabh.AuthService.service.contract;
+
+import com.sourabh.AuthService.dto.response.UserStatisticsResponse;
+import com.sourabh.AuthService.enums.OtpType;
+
+/**
+ * Dashboard counters kept in memory and updated as things happen, instead
+ * of COUNT / GROUP BY queries per dashboard refresh. Recording inside a
+ * transaction only takes effect if it commits.
+ */
+public interface UserStatisticsService {
+
+    void userCreated(boolean verified);
+
+    void userVerified();
+
+    // a verified user changed their email or phone and must verify again
+    void userUnverified();
+
+    /**
+     * @param success true when an OTP was marked verified, false when a wrong
+     *                code was added to its attempts; the same two numbers
+     *                reconcile() reads from the otp table
+     */
+    void otpChecked(OtpType type, boolean success);
+
+    UserStatisticsResponse snapshot();
+
+    /**
+     * Replaces the counters with a fresh aggregate from the database.
+     */
+    void reconcile();
+}
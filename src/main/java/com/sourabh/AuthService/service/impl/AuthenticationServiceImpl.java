@@ -1,16 +1,16 @@
 package com.sourabh.AuthService.service.impl;
 
+import com.sourabh.AuthService.dto.projection.UserAuthView;
 import com.sourabh.AuthService.dto.request.LoginPhoneRequest;
 import com.sourabh.AuthService.dto.request.LoginRequest;
 import com.sourabh.AuthService.dto.request.VerifyPhoneOtpRequest;
 import com.sourabh.AuthService.dto.response.LoginResponse;
-import com.sourabh.AuthService.entity.User;
 import com.sourabh.AuthService.enums.OtpType;
 import com.sourabh.AuthService.exceptions.BadRequestException;
 import com.sourabh.AuthService.exceptions.NotFoundException;
-import com.sourabh.AuthService.repository.UserRepository;
 import com.sourabh.AuthService.service.impl.OtpServiceImpl;
 import com.sourabh.AuthService.service.contract.AuthenticationService;
+import com.sourabh.AuthService.service.contract.UserLookupService;
 import com.sourabh.AuthService.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,7 +20,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
 
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final OtpServiceImpl otpService;
@@ -28,39 +28,39 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public LoginResponse login(LoginRequest request) {
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new NotFoundException("Invalid credentials"));
+        UserAuthView user = userLookupService.findAuthViewByEmail(request.getEmail())
+                .orElseThrow(() -> NotFoundException.INVALID_CREDENTIALS);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new BadRequestException("Invalid credentials");
+        if (!passwordEncoder.matches(request.getPassword(), user.password())) {
+            throw BadRequestException.INVALID_CREDENTIALS;
         }
 
-        if (!user.isEmailVerified() || !user.isPhoneNumberVerified()) {
-            throw new BadRequestException("Account not verified");
+        if (!user.isFullyVerified()) {
+            throw BadRequestException.ACCOUNT_NOT_VERIFIED;
         }
 
         return LoginResponse.builder()
-                .token(jwtUtil.generateToken(user.getEmail()))
-                .id(user.getId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .phoneNumber(user.getPhoneNumber())
-                .city(user.getCity())
+                .token(jwtUtil.generateToken(user.email()))
+                .id(user.id())
+                .email(user.email())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .phoneNumber(user.phoneNumber())
+                .city(user.city())
                 .build();
     }
 
     @Override
     public void sendPhoneLoginOtp(LoginPhoneRequest request) {
 
-        User user = userRepository.findByPhoneNumber(request.getPhoneNumber())
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        UserAuthView user = userLookupService.findAuthViewByPhoneNumber(request.getPhoneNumber())
+                .orElseThrow(() -> NotFoundException.USER_NOT_FOUND);
 
-        if (!user.isEmailVerified() || !user.isPhoneNumberVerified()) {
-            throw new BadRequestException("Account not verified");
+        if (!user.isFullyVerified()) {
+            throw BadRequestException.ACCOUNT_NOT_VERIFIED;
         }
 
-        otpService.generatePhoneOtp(user.getPhoneNumber(), OtpType.PHONE_LOGIN);
+        otpService.generatePhoneOtp(user.phoneNumber(), OtpType.PHONE_LOGIN);
     }
 
     @Override
@@ -72,9 +72,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 OtpType.PHONE_LOGIN
         );
 
-        User user = userRepository.findByPhoneNumber(request.getPhoneNumber())
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        UserAuthView user = userLookupService.findAuthViewByPhoneNumber(request.getPhoneNumber())
+                .orElseThrow(() -> NotFoundException.USER_NOT_FOUND);
 
-        return jwtUtil.generateToken(user.getEmail());
+        return jwtUtil.generateToken(user.email());
     }
 }
@@ -0,0 +1,235 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.util.BloomFilter;
+import com.sourabh.AuthService.util.Canonical;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Email / phone uniqueness checks with in-memory Bloom filters in front of
+ * the database. A definite negative skips the query; a possible hit falls
+ * through to existsBy*. Until the startup scan finishes every check goes to
+ * the database.
+ *
+ * Negatives are advisory: a row written by another pod after our last scan
+ * is not in our filter, so the unique constraints remain the backstop.
+ * Signup and profile update map a violation back to the same "already
+ * registered / in use" error the pre-check gives (UniqueViolations), so a
+ * stale negative only costs the insert. Periodic rebuilds keep the fill from
+ * changed emails/phones bounded.
+ */
+@Slf4j
+@Service
+public class BloomUniquenessServiceImpl implements UniquenessService {
+
+    private record Filters(BloomFilter emails, BloomFilter phones) {
+    }
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate scanJdbcTemplate;
+    private final String scanSql;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final long rebuildIntervalMinutes;
+
+    private volatile Filters active;
+    private volatile Filters building;
+
+    private final Counter emailNegatives;
+    private final Counter emailPositives;
+    private final Counter emailFalsePositives;
+    private final Counter phoneNegatives;
+    private final Counter phonePositives;
+    private final Counter phoneFalsePositives;
+
+    public BloomUniquenessServiceImpl(
+            UserRepository userRepository,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${bloom.expected-users:1000000}") long expectedUsers,
+            @Value("${bloom.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${bloom.rebuild-interval-minutes:1440}") long rebuildIntervalMinutes,
+            @Value("${bloom.scan-fetch-size:1000}") int scanFetchSize,
+            @Value("${sharding.enabled:false}") boolean sharded
+    ) {
+        this.userRepository = userRepository;
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(scanFetchSize);
+        // with sharding, the directory on shard 0 already lists every user
+        this.scanSql = sharded
+                ? "SELECT email, phone_number FROM user_directory"
+                : "SELECT email, phone_number FROM user";
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+
+        this.emailNegatives = checks(meterRegistry, "email", "negative");
+        this.emailPositives = checks(meterRegistry, "email", "positive");
+        this.emailFalsePositives = falsePositives(meterRegistry, "email");
+        this.phoneNegatives = checks(meterRegistry, "phone", "negative");
+        this.phonePositives = checks(meterRegistry, "phone", "positive");
+        this.phoneFalsePositives = falsePositives(meterRegistry, "phone");
+
+        gauges(meterRegistry, "email", Filters::emails);
+        gauges(meterRegistry, "phone", Filters::phones);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBuilding() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bloom-filter-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.execute(this::rebuildQuietly);
+        if (rebuildIntervalMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::rebuildQuietly,
+                    rebuildIntervalMinutes, rebuildIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /* ===================== CHECKS ===================== */
+
+    @Override
+    public boolean isEmailTaken(String email) {
+        Filters filters = active;
+
+        String canonical = Canonical.email(email);
+
+        if (filters != null && !filters.emails().mightContain(canonical)) {
+            emailNegatives.increment();
+            return false;
+        }
+
+        boolean taken = userRepository.existsByEmailCanonical(canonical);
+        if (filters != null) {
+            emailPositives.increment();
+            if (!taken) {
+                emailFalsePositives.increment();
+            }
+        }
+        return taken;
+    }
+
+    @Override
+    public boolean isPhoneTaken(String phoneNumber) {
+        Filters filters = active;
+
+        String canonical = Canonical.phone(phoneNumber);
+
+        if (filters != null && !filters.phones().mightContain(canonical)) {
+            phoneNegatives.increment();
+            return false;
+        }
+
+        boolean taken = userRepository.existsByPhoneE164(canonical);
+        if (filters != null) {
+            phonePositives.increment();
+            if (!taken) {
+                phoneFalsePositives.increment();
+            }
+        }
+        return taken;
+    }
+
+    @Override
+    public void registered(String email, String phoneNumber) {
+        put(active, email, phoneNumber);
+        put(building, email, phoneNumber);
+    }
+
+    /* ===================== BUILD ===================== */
+
+    public synchronized void rebuild() {
+
+        long start = System.nanoTime();
+        Filters fresh = new Filters(
+                BloomFilter.create(expectedUsers, falsePositiveRate),
+                BloomFilter.create(expectedUsers, falsePositiveRate)
+        );
+        building = fresh;
+
+        try {
+            scanJdbcTemplate.query(scanSql, (RowCallbackHandler) rs ->
+                    put(fresh, rs.getString(1), rs.getString(2))
+            );
+            active = fresh;
+        } finally {
+            building = null;
+        }
+
+        log.info("Bloom filters built from {} users in {} ms (expected FPR email={}, phone={})",
+                fresh.emails().insertions(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                fresh.emails().expectedFalsePositiveRate(),
+                fresh.phones().expectedFalsePositiveRate());
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Bloom filter build failed, uniqueness checks keep using {}",
+                    active == null ? "the database" : "the previous filters", ex);
+        }
+    }
+
+    private static void put(Filters filters, String email, String phoneNumber) {
+        if (filters == null) {
+            return;
+        }
+        if (email != null) {
+            filters.emails().put(Canonical.email(email));
+        }
+        if (phoneNumber != null) {
+            filters.phones().put(Canonical.phone(phoneNumber));
+        }
+    }
+
+    /* ===================== METRICS ===================== */
+
+    private void gauges(MeterRegistry registry, String name, Function<Filters, BloomFilter> filter) {
+        gauge(registry, "bloom.filter.bits", name, f -> filter.apply(f).bitSize());
+        gauge(registry, "bloom.filter.hash.functions", name, f -> filter.apply(f).hashFunctions());
+        gauge(registry, "bloom.filter.insertions", name, f -> filter.apply(f).insertions());
+        gauge(registry, "bloom.filter.expected.fpr", name, f -> filter.apply(f).expectedFalsePositiveRate());
+    }
+
+    private void gauge(MeterRegistry registry, String metric, String name, ToDoubleFunction<Filters> value) {
+        Gauge.builder(metric, this, service -> service.active == null ? 0 : value.applyAsDouble(service.active))
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private static Counter checks(MeterRegistry registry, String name, String outcome) {
+        return Counter.builder("bloom.filter.checks")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // observed FPR = false_positives / checks{outcome=positive}
+    private static Counter falsePositives(MeterRegistry registry, String name) {
+        return Counter.builder("bloom.filter.false.positives")
+                .tag("name", name)
+                .register(registry);
+    }
+}
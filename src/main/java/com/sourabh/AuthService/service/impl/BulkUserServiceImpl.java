@@ -0,0 +1,479 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sourabh.AuthService.dto.request.BulkUserRow;
+import com.sourabh.AuthService.dto.response.BulkImportResponse;
+import com.sourabh.AuthService.enums.BulkFormat;
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.service.contract.BreachedPasswordService;
+import com.sourabh.AuthService.service.contract.BulkUserService;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import com.sourabh.AuthService.util.Canonical;
+import com.sourabh.AuthService.util.RequestTiming;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk tenant migration. Rows are streamed, validated and de-duplicated
+ * per chunk, passwords hashed in parallel on a dedicated fork-join pool and
+ * written with JDBC batch inserts. No OTPs or emails are sent.
+ *
+ * Plain passwords get the same breach check as signup. Rows migrated with a
+ * passwordHash cannot be checked; they are screened at the next password change.
+ */
+@Service
+public class BulkUserServiceImpl implements BulkUserService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE = Pattern.compile("^[6-9]\\d{9}$");
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private static final String INSERT_SQL = """
+        INSERT INTO user
+            (email, first_name, last_name, phone_number, city, password,
+             email_verified, phone_number_verified, created_at, version,
+             email_canonical, phone_e164)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+    """;
+
+    private static final String EXPORT_SQL = """
+        SELECT email, first_name, last_name, phone_number, city, password,
+               email_verified, phone_number_verified
+        FROM user
+        ORDER BY id
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final UniquenessService uniquenessService;
+    private final BreachedPasswordService breachedPasswordService;
+    private final UserStatisticsService userStatisticsService;
+    private final int batchSize;
+    private final ForkJoinPool hashPool;
+    private final boolean sharded;
+    private final boolean passwordHashExport;
+
+    public BulkUserServiceImpl(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            ObjectMapper objectMapper,
+            UniquenessService uniquenessService,
+            BreachedPasswordService breachedPasswordService,
+            UserStatisticsService userStatisticsService,
+            @Value("${bulk.import.batch-size:1000}") int batchSize,
+            @Value("${bulk.import.hash-parallelism:0}") int hashParallelism,
+            @Value("${bulk.export.fetch-size:1000}") int exportFetchSize,
+            @Value("${sharding.enabled:false}") boolean sharded,
+            @Value("${bulk.export.password-hash.enabled:false}") boolean passwordHashExport
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(exportFetchSize);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.uniquenessService = uniquenessService;
+        this.breachedPasswordService = breachedPasswordService;
+        this.userStatisticsService = userStatisticsService;
+        this.batchSize = batchSize;
+        this.hashPool = new ForkJoinPool(
+                hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors()
+        );
+        this.sharded = sharded;
+        this.passwordHashExport = passwordHashExport;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    /* ===================== IMPORT ===================== */
+
+    @Override
+    public BulkImportResponse importUsers(InputStream in, BulkFormat format) throws IOException {
+
+        // writes go straight to one database and would bypass the shard directory
+        if (sharded) {
+            throw new BadRequestException("Bulk import is not supported while sharding is enabled");
+        }
+
+        Tally tally = new Tally();
+        List<PendingRow> chunk = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String[] header = null;
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (format == BulkFormat.CSV && header == null) {
+                header = parseCsvLine(line);
+                continue;
+            }
+
+            PendingRow pending = new PendingRow(lineNumber);
+            try {
+                pending.row = format == BulkFormat.CSV
+                        ? fromCsv(header, parseCsvLine(line))
+                        : objectMapper.readValue(line, BulkUserRow.class);
+            } catch (IOException | IllegalArgumentException ex) {
+                pending.error = "Unparseable row";
+            }
+            chunk.add(pending);
+
+            if (chunk.size() >= batchSize) {
+                flush(chunk, tally);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            flush(chunk, tally);
+        }
+
+        return tally.toResponse();
+    }
+
+    private void flush(List<PendingRow> chunk, Tally tally) {
+
+        // -------- VALIDATE + DE-DUPLICATE (cheap, before any hashing) --------
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+
+        for (PendingRow pending : chunk) {
+            if (pending.error == null) {
+                pending.error = validate(pending.row);
+            }
+            if (pending.error == null && !emails.add(Canonical.email(pending.row.getEmail()))) {
+                pending.error = "Duplicate email in import";
+            }
+            if (pending.error == null && !phones.add(Canonical.phone(pending.row.getPhoneNumber()))) {
+                pending.error = "Duplicate phone in import";
+            }
+        }
+
+        markExisting(chunk, emails, phones);
+
+        // -------- HASH (parallel) --------
+        // wrapped here, on the request thread, so the workers record into its timing
+        Consumer<PendingRow> hash = RequestTiming.propagatingEach(this::hash);
+        hashPool.submit(() ->
+                chunk.parallelStream()
+                        .filter(pending -> pending.error == null)
+                        .forEach(hash)
+        ).join();
+
+        // -------- INSERT (JDBC batch) --------
+        List<PendingRow> valid = chunk.stream()
+                .filter(pending -> pending.error == null)
+                .toList();
+
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, valid, valid.size(), this::bind)
+                );
+            } catch (DataAccessException ex) {
+                // a concurrent signup raced us; retry row by row to isolate the offender
+                insertOneByOne(valid);
+            }
+        }
+
+        for (PendingRow pending : chunk) {
+            if (pending.error == null) {
+                uniquenessService.registered(pending.row.getEmail(), pending.row.getPhoneNumber());
+                userStatisticsService.userCreated(Boolean.TRUE.equals(pending.row.getEmailVerified())
+                        && Boolean.TRUE.equals(pending.row.getPhoneNumberVerified()));
+            }
+            tally.record(pending);
+        }
+    }
+
+    private void markExisting(List<PendingRow> chunk, Set<String> emails, Set<String> phones) {
+
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenEmails = new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT email_canonical FROM user WHERE email_canonical IN (:values)",
+                Map.of("values", emails),
+                String.class
+        ));
+        Set<String> takenPhones = new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT phone_e164 FROM user WHERE phone_e164 IN (:values)",
+                Map.of("values", phones),
+                String.class
+        ));
+
+        for (PendingRow pending : chunk) {
+            if (pending.error != null) {
+                continue;
+            }
+            if (takenEmails.contains(Canonical.email(pending.row.getEmail()))) {
+                pending.error = "Email already registered";
+            } else if (takenPhones.contains(Canonical.phone(pending.row.getPhoneNumber()))) {
+                pending.error = "Phone already registered";
+            }
+        }
+    }
+
+    private void insertOneByOne(List<PendingRow> rows) {
+        for (PendingRow pending : rows) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, pending));
+            } catch (DuplicateKeyException ex) {
+                pending.error = "Email or phone already registered";
+            } catch (DataAccessException ex) {
+                pending.error = "Insert failed";
+            }
+        }
+    }
+
+    private String validate(BulkUserRow row) {
+
+        if (row.getEmail() == null || !EMAIL.matcher(row.getEmail()).matches()) {
+            return "Invalid email format";
+        }
+        if (row.getPhoneNumber() == null || !PHONE.matcher(row.getPhoneNumber()).matches()) {
+            return "Invalid Indian phone number";
+        }
+        if (!lengthBetween(row.getFirstName(), 2, 50)) {
+            return "First name must be between 2 and 50 characters";
+        }
+        if (!lengthBetween(row.getLastName(), 2, 50)) {
+            return "Last name must be between 2 and 50 characters";
+        }
+        if (!lengthBetween(row.getCity(), 2, 100)) {
+            return "City must be between 2 and 100 characters";
+        }
+
+        if (row.getPasswordHash() != null) {
+            return BCRYPT.matcher(row.getPasswordHash()).matches()
+                    ? null
+                    : "passwordHash is not a BCrypt hash";
+        }
+
+        if (!lengthBetween(row.getPassword(), 8, 100)) {
+            return "Password must be at least 8 characters";
+        }
+        return breachedPasswordService.isBreached(row.getPassword())
+                ? BadRequestException.PASSWORD_BREACHED.getMessage()
+                : null;
+    }
+
+    private void hash(PendingRow pending) {
+        pending.hash = pending.row.getPasswordHash() != null
+                ? pending.row.getPasswordHash()
+                : passwordEncoder.encode(pending.row.getPassword());
+    }
+
+    private void bind(PreparedStatement ps, PendingRow pending) throws SQLException {
+        BulkUserRow row = pending.row;
+        ps.setString(1, row.getEmail());
+        ps.setString(2, row.getFirstName());
+        ps.setString(3, row.getLastName());
+        ps.setString(4, row.getPhoneNumber());
+        ps.setString(5, row.getCity());
+        ps.setString(6, pending.hash);
+        ps.setBoolean(7, Boolean.TRUE.equals(row.getEmailVerified()));
+        ps.setBoolean(8, Boolean.TRUE.equals(row.getPhoneNumberVerified()));
+        ps.setTimestamp(9, Timestamp.valueOf(LocalDateTime.now()));
+        ps.setString(10, Canonical.email(row.getEmail()));
+        ps.setString(11, Canonical.phone(row.getPhoneNumber()));
+    }
+
+    private static boolean lengthBetween(String value, int min, int max) {
+        return value != null && !value.isBlank() && value.length() >= min && value.length() <= max;
+    }
+
+    /* ===================== CSV ===================== */
+
+    private static BulkUserRow fromCsv(String[] header, String[] values) {
+
+        BulkUserRow row = new BulkUserRow();
+
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].isEmpty() ? null : values[i];
+            switch (header[i].trim()) {
+                case "email" -> row.setEmail(value);
+                case "firstName" -> row.setFirstName(value);
+                case "lastName" -> row.setLastName(value);
+                case "phoneNumber" -> row.setPhoneNumber(value);
+                case "city" -> row.setCity(value);
+                case "password" -> row.setPassword(value);
+                case "passwordHash" -> row.setPasswordHash(value);
+                case "emailVerified" -> row.setEmailVerified(value == null ? null : Boolean.valueOf(value));
+                case "phoneNumberVerified" -> row.setPhoneNumberVerified(value == null ? null : Boolean.valueOf(value));
+                default -> throw new IllegalArgumentException("Unknown column " + header[i]);
+            }
+        }
+
+        return row;
+    }
+
+    // RFC 4180 subset: quoted fields with "" escapes, no embedded newlines
+    private static String[] parseCsvLine(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /* ===================== EXPORT ===================== */
+
+    @Override
+    public void exportUsers(OutputStream out, boolean includePasswordHash) throws IOException {
+
+        if (sharded) {
+            throw new BadRequestException("Bulk export is not supported while sharding is enabled");
+        }
+        if (includePasswordHash && !passwordHashExport) {
+            throw new BadRequestException("Password hash export is disabled (bulk.export.password-hash.enabled)");
+        }
+
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+
+            streamingJdbcTemplate.query(EXPORT_SQL, rs -> {
+                BulkUserRow row = new BulkUserRow();
+                row.setEmail(rs.getString("email"));
+                row.setFirstName(rs.getString("first_name"));
+                row.setLastName(rs.getString("last_name"));
+                row.setPhoneNumber(rs.getString("phone_number"));
+                row.setCity(rs.getString("city"));
+                row.setEmailVerified(rs.getBoolean("email_verified"));
+                row.setPhoneNumberVerified(rs.getBoolean("phone_number_verified"));
+                if (includePasswordHash) {
+                    row.setPasswordHash(rs.getString("password"));
+                }
+
+                try {
+                    writer.write(row);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static final class PendingRow {
+        final long line;
+        BulkUserRow row;
+        String hash;
+        String error;
+
+        PendingRow(long line) {
+            this.line = line;
+        }
+    }
+
+    private static final class Tally {
+        long total;
+        long imported;
+        long failed;
+        final List<BulkImportResponse.RowError> errors = new ArrayList<>();
+
+        void record(PendingRow pending) {
+            total++;
+            if (pending.error == null) {
+                imported++;
+                return;
+            }
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkImportResponse.RowError(
+                        pending.line,
+                        pending.row != null ? pending.row.getEmail() : null,
+                        pending.error
+                ));
+            }
+        }
+
+        BulkImportResponse toResponse() {
+            return BulkImportResponse.builder()
+                    .total(total)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.dto.response.UserChangedEvent;
+import com.sourabh.AuthService.service.contract.UserEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each batch to an NDJSON file and fsyncs it before returning, so a
+ * batch the relay marks as published is on disk. Useful for tests and for
+ * feeding a log shipper.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileUserEventSink implements UserEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileUserEventSink(
+            ObjectMapper objectMapper,
+            @Value("${outbox.file.path:user-events.ndjson}") String path
+    ) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void send(List<UserChangedEvent> batch) throws IOException {
+
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(256 * batch.size());
+        for (UserChangedEvent event : batch) {
+            objectMapper.writeValue(lines, event);
+            lines.write('\n');
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.service.contract.SmsGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generic JSON-over-HTTP provider: POSTs {"messages":[{"to":..,"text":..}]}
+ * to sms.http.url and treats any 2xx as accepted.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.sms.enabled", havingValue = "true")
+public class HttpSmsGateway implements SmsGateway {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String name;
+    private final URI endpoint;
+    private final String apiKey;
+    private final Duration timeout;
+
+    public HttpSmsGateway(
+            ObjectMapper objectMapper,
+            @Value("${sms.http.provider-name:http}") String name,
+            @Value("${sms.http.url}") String endpoint,
+            @Value("${sms.http.api-key:}") String apiKey,
+            @Value("${sms.http.timeout-ms:3000}") long timeoutMs
+    ) {
+        this.objectMapper = objectMapper;
+        this.name = name;
+        this.endpoint = URI.create(endpoint);
+        this.apiKey = apiKey;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void send(List<Message> batch) throws IOException {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        objectMapper.writeValueAsBytes(Map.of("messages", batch))
+                ));
+
+        if (!apiKey.isBlank()) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sending SMS");
+        }
+
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("SMS provider " + name + " returned HTTP " + response.statusCode());
+        }
+    }
+}
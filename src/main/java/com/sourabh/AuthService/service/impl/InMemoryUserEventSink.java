@@ -0,0 +1,44 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.dto.response.UserChangedEvent;
+import com.sourabh.AuthService.service.contract.UserEventSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Development / test sink: keeps the most recent events in memory.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserEventSink implements UserEventSink {
+
+    private final Deque<UserChangedEvent> events = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryUserEventSink(@Value("${outbox.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void send(List<UserChangedEvent> batch) {
+        for (UserChangedEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<UserChangedEvent> events() {
+        return new ArrayList<>(events);
+    }
+}
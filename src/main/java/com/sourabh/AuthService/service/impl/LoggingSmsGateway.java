@@ -0,0 +1,27 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.service.contract.SmsGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Development gateway used when otp.sms.enabled=false: OTPs only go to the log.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "otp.sms.enabled", havingValue = "false", matchIfMissing = true)
+public class LoggingSmsGateway implements SmsGateway {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void send(List<Message> batch) {
+        batch.forEach(message ->
+                log.info("[DEV] SMS to {}: {}", message.to(), message.text())
+        );
+    }
+}
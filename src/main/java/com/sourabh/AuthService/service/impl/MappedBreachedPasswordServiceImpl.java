@@ -0,0 +1,172 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.service.contract.BreachedPasswordService;
+import com.sourabh.AuthService.util.BreachedPasswordIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breached password check against a local, memory-mapped SHA-1 index built
+ * by BreachedPasswordIndexBuilder. Nothing leaves the process.
+ *
+ * The file is re-checked every reload interval; when it was replaced
+ * (modified time or size changed) the new version is mapped and swapped in.
+ * A missing or corrupt file keeps the previous version; with no version
+ * loaded at all the check fails open.
+ */
+@Slf4j
+@Service
+public class MappedBreachedPasswordServiceImpl implements BreachedPasswordService {
+
+    private record Loaded(BreachedPasswordIndex index, Object fileKey, long modified, long size) {
+    }
+
+    private static final ThreadLocal<Sha1> SHA1 = ThreadLocal.withInitial(Sha1::new);
+
+    private final Path path;
+    private final long reloadIntervalSeconds;
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Loaded loaded;
+    private ScheduledExecutorService reloader;
+
+    public MappedBreachedPasswordServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${breached-passwords.path:}") String path,
+            @Value("${breached-passwords.reload-interval-seconds:60}") long reloadIntervalSeconds
+    ) {
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.reloadIntervalSeconds = reloadIntervalSeconds;
+        this.hits = checks(meterRegistry, "breached");
+        this.misses = checks(meterRegistry, "clean");
+
+        Gauge.builder("breached.passwords.dataset.size", this,
+                        service -> service.loaded == null ? 0 : service.loaded.index().size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (path == null) {
+            log.info("breached-passwords.path not set, breached password checks are disabled");
+            return;
+        }
+
+        reloadQuietly();
+
+        if (reloadIntervalSeconds > 0) {
+            reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "breached-passwords-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadQuietly,
+                    reloadIntervalSeconds, reloadIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /* ===================== CHECK ===================== */
+
+    @Override
+    public boolean isBreached(String password) {
+        Loaded current = loaded;
+        if (current == null || password == null) {
+            return false;
+        }
+
+        boolean breached = current.index().contains(SHA1.get().digest(password));
+        (breached ? hits : misses).increment();
+        return breached;
+    }
+
+    /* ===================== RELOAD ===================== */
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not load breached password index {}, keeping {}",
+                    path, loaded == null ? "checks disabled" : "the previous version", ex);
+        }
+    }
+
+    private synchronized void reload() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        Object fileKey = attributes.fileKey();
+
+        Loaded current = loaded;
+        if (current != null
+                && current.modified() == modified
+                && current.size() == attributes.size()
+                && Objects.equals(current.fileKey(), fileKey)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        BreachedPasswordIndex index = BreachedPasswordIndex.open(path);
+        loaded = new Loaded(index, fileKey, modified, attributes.size());
+
+        log.info("Breached password index {} mapped: {} hashes in {} ms",
+                path, index.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static Counter checks(MeterRegistry registry, String result) {
+        return Counter.builder("breached.passwords.checks")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    // per-thread digest and output buffer, so a check allocates only the password bytes
+    private static final class Sha1 {
+        private final MessageDigest digest;
+        private final byte[] out = new byte[20];
+
+        Sha1() {
+            try {
+                digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-1 not available", ex);
+            }
+        }
+
+        byte[] digest(String password) {
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            try {
+                digest.digest(out, 0, out.length);
+            } catch (DigestException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return out;
+        }
+    }
+}
@@ -6,25 +6,68 @@ import com.sourabh.AuthService.exceptions.BadRequestException;
 import com.sourabh.AuthService.repository.OtpRepository;
 import com.sourabh.AuthService.service.contract.EmailService;
 import com.sourabh.AuthService.service.contract.OtpService;
-import lombok.RequiredArgsConstructor;
+import com.sourabh.AuthService.service.contract.SmsService;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import com.sourabh.AuthService.util.AfterCommit;
+import com.sourabh.AuthService.util.Canonical;
+import com.sourabh.AuthService.util.RequestTiming;
+import com.sourabh.AuthService.util.StripedLocks;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
 
 @Service
-@RequiredArgsConstructor
 public class OtpServiceImpl implements OtpService {
 
     private final OtpRepository otpRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final SmsService smsService;
+    private final UserStatisticsService userStatisticsService;
+    // REQUIRES_NEW: slot claims and failed attempts commit on their own, whatever the caller does
+    private final TransactionTemplate ownTransaction;
 
     private static final int OTP_EXPIRY_MINUTES = 5;
     private static final int RESEND_COOLDOWN_SECONDS = 60;
     private static final int MAX_ATTEMPTS = 5;
 
+    // offloads one of the two BCrypt checks in verifyAccountOtps
+    private static final Executor HASH_CHECKS =
+            RequestTiming.propagating(Executors.newVirtualThreadPerTaskExecutor());
+
+    // serializes issuing per (type, target) within this instance; ux_otp_active_slot covers the others
+    private static final StripedLocks ISSUE_LOCKS = new StripedLocks(256);
+
+    public OtpServiceImpl(
+            OtpRepository otpRepository,
+            PasswordEncoder passwordEncoder,
+            EmailService emailService,
+            SmsService smsService,
+            UserStatisticsService userStatisticsService,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.otpRepository = otpRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailService = emailService;
+        this.smsService = smsService;
+        this.userStatisticsService = userStatisticsService;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     /* ===================== GENERATE ===================== */
 
     @Override
@@ -37,60 +80,116 @@ public class OtpServiceImpl implements OtpService {
         createOtp(null, phone, type);
     }
 
+    /**
+     * OTP rows are keyed by the canonical email / phone so they match however
+     * the user types them.
+     *
+     * Concurrent requests for the same target must not each send a code:
+     * the cooldown check and the insert run under a per-target striped lock,
+     * and across instances the unique active slot lets only one insert win.
+     * The BCrypt hash is computed outside the lock.
+     *
+     * The claim runs in a transaction of its own and commits before the lock
+     * is released, so the next holder sees it, and a lost race fails only
+     * that inner transaction, never the caller's. If the caller then rolls
+     * back (say signup fails later on), the OTP is withdrawn so it neither
+     * stays valid nor blocks a retry with its cooldown. The code is only sent
+     * once the caller has committed.
+     */
     private void createOtp(String email, String phone, OtpType type) {
 
         LocalDateTime now = LocalDateTime.now();
+        String emailKey = Canonical.email(email);
+        String phoneKey = Canonical.phone(phone);
+        String slot = type.name() + ":" + (email != null ? emailKey : phoneKey);
+
+        // cheap rejection before paying for the hash
+        checkCooldown(emailKey, phoneKey, type, now);
+
+        String rawOtp = generateOtp();
+        String otpHash = passwordEncoder.encode(rawOtp);
+
+        Long issuedId;
+        Lock lock = ISSUE_LOCKS.get(slot);
+        lock.lock();
+        try {
+            issuedId = ownTransaction.execute(status -> {
+                LocalDateTime issuedAt = LocalDateTime.now();
+                checkCooldown(emailKey, phoneKey, type, issuedAt);
+
+                otpRepository.releaseSlot(slot, issuedAt, issuedAt.minusSeconds(RESEND_COOLDOWN_SECONDS));
+
+                return otpRepository.saveAndFlush(Otp.builder()
+                        .email(emailKey)
+                        .phone(phoneKey)
+                        .type(type)
+                        .otpHash(otpHash)
+                        .activeSlot(slot)
+                        .attempts(0)
+                        .verified(false)
+                        .expiry(issuedAt.plusMinutes(OTP_EXPIRY_MINUTES))
+                        .build()
+                ).getId();
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // another instance issued one for this target first
+            throw BadRequestException.OTP_COOLDOWN;
+        } finally {
+            lock.unlock();
+        }
 
-        Otp lastOtp = null;
+        withdrawOnRollback(issuedId);
 
         if (email != null) {
-            lastOtp = otpRepository
-                    .findValidEmailOtp(email, type, now)
-                    .orElse(null);
+            AfterCommit.run(() -> emailService.sendOtp(email, rawOtp));
         }
 
         if (phone != null) {
-            lastOtp = otpRepository
-                    .findValidPhoneOtp(phone, type, now)
-                    .orElse(null);
+            smsService.sendOtp(phoneKey, rawOtp);
         }
+    }
 
+    private void withdrawOnRollback(Long otpId) {
 
-        if (lastOtp != null &&
-                lastOtp.getCreatedAt().isAfter(now.minusSeconds(RESEND_COOLDOWN_SECONDS))) {
-            throw new BadRequestException("Please wait before requesting another OTP");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
         }
 
-        String rawOtp = generateOtp();
-
-        Otp otp = Otp.builder()
-                .email(email)
-                .phone(phone)
-                .type(type)
-                .otpHash(passwordEncoder.encode(rawOtp))
-                .attempts(0)
-                .verified(false)
-                .expiry(now.plusMinutes(OTP_EXPIRY_MINUTES))
-                .build();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    ownTransaction.executeWithoutResult(tx -> otpRepository.withdraw(otpId, LocalDateTime.now()));
+                }
+            }
+        });
+    }
 
-        otpRepository.save(otp);
+    private void checkCooldown(String emailKey, String phoneKey, OtpType type, LocalDateTime now) {
 
-        if (email != null) {
-            emailService.sendOtp(email, rawOtp);
-        }
+        Otp lastOtp = emailKey != null
+                ? otpRepository.findValidEmailOtp(emailKey, type, now).orElse(null)
+                : otpRepository.findValidPhoneOtp(phoneKey, type, now).orElse(null);
 
-        if (phone != null) {
-            System.out.println("[DEV] Phone OTP for " + phone + " = " + rawOtp);
+        if (lastOtp != null &&
+                lastOtp.getCreatedAt().isAfter(now.minusSeconds(RESEND_COOLDOWN_SECONDS))) {
+            throw BadRequestException.OTP_COOLDOWN;
         }
     }
 
     /* ===================== VERIFY ===================== */
 
+    /*
+     * Statistics count what the otp table keeps, so the live counters and
+     * the reconciliation agree: a success is an OTP marked verified, a
+     * failure is one wrong code added to an OTP's attempts.
+     */
+
     @Override
     public void verifyEmailOtp(String email, String otp, OtpType type) {
         Otp entity = otpRepository
-                .findValidEmailOtp(email, type, LocalDateTime.now())
-                .orElseThrow(() -> new BadRequestException("OTP expired or invalid"));
+                .findValidEmailOtp(Canonical.email(email), type, LocalDateTime.now())
+                .orElseThrow(() -> BadRequestException.OTP_EXPIRED);
 
         validateOtp(entity, otp);
     }
@@ -98,26 +197,100 @@ public class OtpServiceImpl implements OtpService {
     @Override
     public void verifyPhoneOtp(String phone, String otp, OtpType type) {
         Otp entity = otpRepository
-                .findValidPhoneOtp(phone, type, LocalDateTime.now())
-                .orElseThrow(() -> new BadRequestException("OTP expired or invalid"));
+                .findValidPhoneOtp(Canonical.phone(phone), type, LocalDateTime.now())
+                .orElseThrow(() -> BadRequestException.OTP_EXPIRED);
 
         validateOtp(entity, otp);
     }
 
+    /**
+     * Verifies the email and phone account OTPs together: one query for both
+     * rows, both hashes checked in parallel, and either both are consumed or
+     * neither is (failed attempts are still counted). A right code paired
+     * with a wrong one is neither a success nor a failure.
+     *
+     * The rows stay locked by the caller's transaction, so the attempts are
+     * written there; the caller must not roll back on OTP_INVALID.
+     */
+    @Override
+    public void verifyAccountOtps(String email, String emailOtp, String phone, String phoneOtp) {
+
+        List<Otp> candidates = otpRepository.findValidAccountOtps(
+                Canonical.email(email),
+                Canonical.phone(phone),
+                LocalDateTime.now()
+        );
+
+        Otp emailEntity = latest(candidates, OtpType.EMAIL_VERIFICATION);
+        Otp phoneEntity = latest(candidates, OtpType.PHONE_VERIFICATION);
+
+        if (emailEntity == null || phoneEntity == null) {
+            throw BadRequestException.OTP_EXPIRED;
+        }
+
+        if (emailEntity.getAttempts() >= MAX_ATTEMPTS || phoneEntity.getAttempts() >= MAX_ATTEMPTS) {
+            throw BadRequestException.OTP_ATTEMPTS_EXCEEDED;
+        }
+
+        CompletableFuture<Boolean> emailMatch = CompletableFuture.supplyAsync(
+                () -> passwordEncoder.matches(emailOtp, emailEntity.getOtpHash()),
+                HASH_CHECKS
+        );
+        boolean phoneMatches = passwordEncoder.matches(phoneOtp, phoneEntity.getOtpHash());
+        boolean emailMatches = emailMatch.join();
+
+        if (emailMatches && phoneMatches) {
+            emailEntity.setVerified(true);
+            phoneEntity.setVerified(true);
+            otpRepository.saveAll(List.of(emailEntity, phoneEntity));
+            userStatisticsService.otpChecked(OtpType.EMAIL_VERIFICATION, true);
+            userStatisticsService.otpChecked(OtpType.PHONE_VERIFICATION, true);
+            return;
+        }
+
+        if (!emailMatches) {
+            emailEntity.setAttempts(emailEntity.getAttempts() + 1);
+            userStatisticsService.otpChecked(OtpType.EMAIL_VERIFICATION, false);
+        }
+        if (!phoneMatches) {
+            phoneEntity.setAttempts(phoneEntity.getAttempts() + 1);
+            userStatisticsService.otpChecked(OtpType.PHONE_VERIFICATION, false);
+        }
+        otpRepository.saveAll(List.of(emailEntity, phoneEntity));
+
+        throw BadRequestException.OTP_INVALID;
+    }
+
+    private static Otp latest(List<Otp> candidates, OtpType type) {
+        // candidates are ordered newest first
+        return candidates.stream()
+                .filter(otp -> otp.getType() == type)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /*
+     * Callers such as resetPassword roll back on OTP_INVALID, so the failed
+     * attempt is written in a transaction of its own; otherwise a wrong
+     * guess would never count towards MAX_ATTEMPTS.
+     */
     private void validateOtp(Otp otp, String rawOtp) {
 
         if (otp.getAttempts() >= MAX_ATTEMPTS) {
-            throw new BadRequestException("OTP attempts exceeded");
+            throw BadRequestException.OTP_ATTEMPTS_EXCEEDED;
         }
 
         if (!passwordEncoder.matches(rawOtp, otp.getOtpHash())) {
-            otp.setAttempts(otp.getAttempts() + 1);
-            otpRepository.save(otp);
-            throw new BadRequestException("Invalid OTP");
+            ownTransaction.executeWithoutResult(status -> {
+                otpRepository.recordFailedAttempt(otp.getId());
+                userStatisticsService.otpChecked(otp.getType(), false);
+            });
+            throw BadRequestException.OTP_INVALID;
         }
 
         otp.setVerified(true);
         otpRepository.save(otp);
+        userStatisticsService.otpChecked(otp.getType(), true);
     }
 
     private String generateOtp() {
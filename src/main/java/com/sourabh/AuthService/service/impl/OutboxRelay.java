@@ -0,0 +1,189 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.dto.response.UserChangedEvent;
+import com.sourabh.AuthService.entity.OutboxEvent;
+import com.sourabh.AuthService.repository.OutboxEventRepository;
+import com.sourabh.AuthService.service.contract.UserEventSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers outbox events to the configured UserEventSink.
+ *
+ * Every instance runs a relay. Each batch is claimed in its own transaction
+ * with SELECT ... FOR UPDATE SKIP LOCKED, handed to the sink, marked
+ * published and committed, so concurrent instances take disjoint batches
+ * and an event is not sent once per pod. The row locks are held while the
+ * sink runs; if it fails, or the instance dies, the transaction rolls back
+ * and the rows go to whichever relay claims next. Delivery is at-least-once
+ * (a crash between the sink and the commit resends the batch), a failing
+ * sink is retried with capped exponential backoff, and with several
+ * instances batches may arrive out of id order; consumers dedupe and order
+ * on eventId.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserEventSink sink;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Thread worker;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long maxBackoffMs;
+
+    private final Counter delivered;
+    private final Counter failures;
+    private volatile double lagSeconds;
+
+    private volatile boolean running = true;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            UserEventSink sink,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.poll-interval-ms:500}") long pollIntervalMs,
+            @Value("${outbox.relay.max-backoff-ms:30000}") long maxBackoffMs
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        this.delivered = Counter.builder("outbox.delivered")
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.failures")
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+        // age of the newest event at the moment it was delivered: how far consumers trail behind
+        Gauge.builder("outbox.lag", this, relay -> relay.lagSeconds)
+                .tag("sink", sink.name())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.worker = new Thread(this::relay, "outbox-relay");
+        this.worker.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /* ===================== RELAY ===================== */
+
+    private void relay() {
+
+        long backoffMs = pollIntervalMs;
+
+        while (running) {
+            try {
+                Integer claimed = transactionTemplate.execute(status -> deliverClaimed());
+                backoffMs = pollIntervalMs;
+
+                // a full batch means there is probably more; otherwise wait for new events
+                if (claimed == null || claimed < batchSize) {
+                    Thread.sleep(pollIntervalMs);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                failures.increment();
+                log.warn("Outbox delivery to {} failed, retrying in {} ms", sink.name(), backoffMs, ex);
+                if (!sleep(backoffMs)) {
+                    return;
+                }
+                backoffMs = Math.min(maxBackoffMs, backoffMs * 2);
+            }
+        }
+    }
+
+    // inside the claiming transaction: the rows stay locked until they are marked published
+    private int deliverClaimed() {
+
+        List<OutboxEvent> page = outboxEventRepository.claimPending(batchSize);
+        if (page.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            deliver(page);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return page.size();
+    }
+
+    private void deliver(List<OutboxEvent> page) throws IOException {
+
+        List<UserChangedEvent> batch = new ArrayList<>(page.size());
+        List<Long> ids = new ArrayList<>(page.size());
+
+        for (OutboxEvent row : page) {
+            batch.add(new UserChangedEvent(
+                    row.getId(),
+                    row.getType(),
+                    row.getCreatedAt(),
+                    objectMapper.readValue(row.getPayload(), UserChangedEvent.Snapshot.class)
+            ));
+            ids.add(row.getId());
+        }
+
+        sink.send(batch);
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+
+        delivered.increment(batch.size());
+        lagSeconds = Duration.between(page.get(page.size() - 1).getCreatedAt(), LocalDateTime.now())
+                .toMillis() / 1000.0;
+    }
+
+    private boolean sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.dto.response.UserChangedEvent;
+import com.sourabh.AuthService.entity.OutboxEvent;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.enums.UserEventType;
+import com.sourabh.AuthService.repository.OutboxEventRepository;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxUserEventPublisher implements UserEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(UserEventType type, User user) {
+
+        UserChangedEvent.Snapshot snapshot = new UserChangedEvent.Snapshot(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getPhoneNumber(),
+                user.getCity(),
+                user.isEmailVerified(),
+                user.isPhoneNumberVerified()
+        );
+
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .type(type)
+                    .userId(user.getId())
+                    .payload(objectMapper.writeValueAsString(snapshot))
+                    .build());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + type + " event", ex);
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.sourabh.AuthService.service.impl;
 
+import com.sourabh.AuthService.config.ReadYourWrites;
 import com.sourabh.AuthService.dto.request.ChangePasswordRequest;
 import com.sourabh.AuthService.dto.request.ResetPasswordOtpRequest;
 import com.sourabh.AuthService.dto.request.VerifyEmailOtpRequest;
 import com.sourabh.AuthService.entity.User;
 import com.sourabh.AuthService.enums.OtpType;
+import com.sourabh.AuthService.enums.UserEventType;
 import com.sourabh.AuthService.exceptions.BadRequestException;
 import com.sourabh.AuthService.exceptions.NotFoundException;
 import com.sourabh.AuthService.repository.UserRepository;
 import com.sourabh.AuthService.service.impl.OtpServiceImpl;
+import com.sourabh.AuthService.service.contract.BreachedPasswordService;
 import com.sourabh.AuthService.service.contract.PasswordService;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.util.Canonical;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,11 +27,15 @@ public class PasswordServiceImpl implements PasswordService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final OtpServiceImpl otpService;
+    private final BreachedPasswordService breachedPasswordService;
+    private final UserEventPublisher userEventPublisher;
+    private final ReadYourWrites readYourWrites;
 
     @Override
     public void forgotPasswordOtp(ResetPasswordOtpRequest request) {
 
-        userRepository.findByEmail(request.getEmail())
+        String email = Canonical.email(request.getEmail());
+        readYourWrites.read(email, () -> userRepository.findByEmailCanonical(email))
                 .ifPresent(user ->
                         otpService.generateEmailOtp(
                                 user.getEmail(),
@@ -35,10 +45,15 @@ public class PasswordServiceImpl implements PasswordService {
     }
 
     @Override
+    @Transactional
     public void resetPassword(VerifyEmailOtpRequest request) {
 
         if (!request.getNewPassword().equals(request.getConfirmPassword())) {
-            throw new BadRequestException("Passwords do not match");
+            throw BadRequestException.PASSWORDS_DO_NOT_MATCH;
+        }
+
+        if (breachedPasswordService.isBreached(request.getNewPassword())) {
+            throw BadRequestException.PASSWORD_BREACHED;
         }
 
         otpService.verifyEmailOtp(
@@ -47,21 +62,30 @@ public class PasswordServiceImpl implements PasswordService {
                 OtpType.FORGOT_PASSWORD
         );
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        User user = userRepository.findByEmailCanonical(Canonical.email(request.getEmail()))
+                .orElseThrow(() -> NotFoundException.USER_NOT_FOUND);
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userEventPublisher.publish(UserEventType.PASSWORD_CHANGED, user);
+        readYourWrites.wrote(Canonical.email(user.getEmail()), Canonical.phone(user.getPhoneNumber()));
     }
 
     @Override
+    @Transactional
     public void changePassword(User user, ChangePasswordRequest request) {
 
         if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
             throw new BadRequestException("Old password incorrect");
         }
 
+        if (breachedPasswordService.isBreached(request.getNewPassword())) {
+            throw BadRequestException.PASSWORD_BREACHED;
+        }
+
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userEventPublisher.publish(UserEventType.PASSWORD_CHANGED, user);
+        readYourWrites.wrote(Canonical.email(user.getEmail()), Canonical.phone(user.getPhoneNumber()));
     }
 }
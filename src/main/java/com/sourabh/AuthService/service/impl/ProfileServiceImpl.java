@@ -1,13 +1,22 @@
 package com.sourabh.AuthService.service.impl;
 
+import com.sourabh.AuthService.config.ReadYourWrites;
 import com.sourabh.AuthService.dto.request.UpdateUserRequest;
 import com.sourabh.AuthService.entity.User;
 import com.sourabh.AuthService.enums.OtpType;
+import com.sourabh.AuthService.enums.UserEventType;
 import com.sourabh.AuthService.exceptions.BadRequestException;
 import com.sourabh.AuthService.repository.UserRepository;
 import com.sourabh.AuthService.service.contract.ProfileService;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import com.sourabh.AuthService.util.Canonical;
+import com.sourabh.AuthService.util.UniqueViolations;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 //
 //@Service
 //@RequiredArgsConstructor
@@ -40,10 +49,20 @@ public class ProfileServiceImpl implements ProfileService {
 
     private final UserRepository userRepository;
     private final OtpServiceImpl otpService;
+    private final UniquenessService uniquenessService;
+    private final UserEventPublisher userEventPublisher;
+    private final UserStatisticsService userStatisticsService;
+    private final ReadYourWrites readYourWrites;
 
     @Override
+    @Transactional
     public void updateProfile(User user, UpdateUserRequest request) {
 
+        boolean wasVerified = user.isEmailVerified() && user.isPhoneNumberVerified();
+        // a replica must not keep answering for the old email / phone either
+        String oldEmail = Canonical.email(user.getEmail());
+        String oldPhone = Canonical.phone(user.getPhoneNumber());
+
         // -------- NON-SENSITIVE --------
         if (request.getFirstName() != null) {
             user.setFirstName(request.getFirstName());
@@ -59,9 +78,9 @@ public class ProfileServiceImpl implements ProfileService {
 
         // -------- EMAIL CHANGE --------
         if (request.getEmail() != null &&
-                !request.getEmail().equals(user.getEmail())) {
+                !Canonical.email(request.getEmail()).equals(Canonical.email(user.getEmail()))) {
 
-            if (userRepository.existsByEmail(request.getEmail())) {
+            if (uniquenessService.isEmailTaken(request.getEmail())) {
                 throw new BadRequestException("Email already in use");
             }
 
@@ -76,9 +95,9 @@ public class ProfileServiceImpl implements ProfileService {
 
         // -------- PHONE CHANGE --------
         if (request.getPhoneNumber() != null &&
-                !request.getPhoneNumber().equals(user.getPhoneNumber())) {
+                !Canonical.phone(request.getPhoneNumber()).equals(Canonical.phone(user.getPhoneNumber()))) {
 
-            if (userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
+            if (uniquenessService.isPhoneTaken(request.getPhoneNumber())) {
                 throw new BadRequestException("Phone number already in use");
             }
 
@@ -91,6 +110,21 @@ public class ProfileServiceImpl implements ProfileService {
             );
         }
 
-        userRepository.save(user);
+        try {
+            // flushed here so a unique violation surfaces now, not at commit
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw UniqueViolations.column(ex)
+                    .map(column -> column == UniqueViolations.Column.EMAIL
+                            ? new BadRequestException("Email already in use")
+                            : new BadRequestException("Phone number already in use"))
+                    .orElseThrow(() -> ex);
+        }
+        userEventPublisher.publish(UserEventType.PROFILE_UPDATED, user);
+        if (wasVerified && !(user.isEmailVerified() && user.isPhoneNumberVerified())) {
+            userStatisticsService.userUnverified();
+        }
+        uniquenessService.registered(user.getEmail(), user.getPhoneNumber());
+        readYourWrites.wrote(oldEmail, oldPhone, Canonical.email(user.getEmail()), Canonical.phone(user.getPhoneNumber()));
     }
 }
@@ -1,17 +1,33 @@
 package com.sourabh.AuthService.service.impl;
 
+import com.sourabh.AuthService.config.ReadYourWrites;
 import com.sourabh.AuthService.dto.request.SignupRequest;
 import com.sourabh.AuthService.entity.User;
 import com.sourabh.AuthService.enums.OtpType;
+import com.sourabh.AuthService.enums.UserEventType;
 import com.sourabh.AuthService.exceptions.BadRequestException;
 import com.sourabh.AuthService.repository.UserRepository;
 import com.sourabh.AuthService.service.impl.OtpServiceImpl;
+import com.sourabh.AuthService.service.contract.BreachedPasswordService;
 import com.sourabh.AuthService.service.contract.RegistrationService;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import com.sourabh.AuthService.util.Canonical;
+import com.sourabh.AuthService.util.RequestTiming;
+import com.sourabh.AuthService.util.UniqueViolations;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
 @Service
 @RequiredArgsConstructor
 public class RegistrationServiceImpl implements RegistrationService {
@@ -19,22 +35,29 @@ public class RegistrationServiceImpl implements RegistrationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final OtpServiceImpl otpService;
+    private final UniquenessService uniquenessService;
+    private final BreachedPasswordService breachedPasswordService;
+    private final UserEventPublisher userEventPublisher;
+    private final UserStatisticsService userStatisticsService;
+    private final ReadYourWrites readYourWrites;
+
+    // uniqueness checks and the BCrypt hash are independent; each runs on its own virtual thread
+    private static final Executor SIGNUP_STEPS =
+            RequestTiming.propagating(Executors.newVirtualThreadPerTaskExecutor());
 
     @Override
     @Transactional
     public void signup(SignupRequest request) {
 
         if (!request.getPassword().equals(request.getConfirmPassword())) {
-            throw new BadRequestException("Passwords do not match");
+            throw BadRequestException.PASSWORDS_DO_NOT_MATCH;
         }
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException("Email already registered");
+        if (breachedPasswordService.isBreached(request.getPassword())) {
+            throw BadRequestException.PASSWORD_BREACHED;
         }
 
-        if (userRepository.existsByPhoneNumber(request.getPhoneNumber())) {
-            throw new BadRequestException("Phone already registered");
-        }
+        String passwordHash = prepare(request);
 
         User user = User.builder()
                 .email(request.getEmail())
@@ -42,14 +65,109 @@ public class RegistrationServiceImpl implements RegistrationService {
                 .lastName(request.getLastName())
                 .phoneNumber(request.getPhoneNumber())
                 .city(request.getCity())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .emailVerified(false)
                 .phoneNumberVerified(false)
                 .build();
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            // pre-check negatives can be stale (the Bloom filters are per pod): same answer either way
+            throw UniqueViolations.column(ex)
+                    .map(column -> column == UniqueViolations.Column.EMAIL
+                            ? new BadRequestException("Email already registered")
+                            : new BadRequestException("Phone already registered"))
+                    .orElseThrow(() -> ex);
+        }
+        userEventPublisher.publish(UserEventType.USER_CREATED, user);
+        userStatisticsService.userCreated(false);
+        uniquenessService.registered(user.getEmail(), user.getPhoneNumber());
+        readYourWrites.wrote(Canonical.email(user.getEmail()), Canonical.phone(user.getPhoneNumber()));
 
         otpService.generateEmailOtp(user.getEmail(), OtpType.EMAIL_VERIFICATION);
         otpService.generatePhoneOtp(user.getPhoneNumber(), OtpType.PHONE_VERIFICATION);
     }
+
+    /* ===================== PREPARE ===================== */
+
+    /**
+     * Runs the email check, the phone check and the password hash
+     * concurrently, so signup waits for the slowest of them rather than
+     * their sum. The first failure cancels the remaining steps and is
+     * rethrown as-is, unwrapped from the CompletionException.
+     *
+     * The steps run on their own threads, so outside signup's transaction:
+     * each check reads committed rows through its own read-only repository
+     * call. A concurrent signup that slips past them is still caught by the
+     * unique keys on save.
+     *
+     * Cancelling only drops a step's result. CompletableFuture does not
+     * interrupt its thread, so a BCrypt round already running finishes on
+     * its virtual thread and the hash is discarded.
+     *
+     * @return the encoded password
+     */
+    private String prepare(SignupRequest request) {
+
+        CompletableFuture<String> hash = CompletableFuture.supplyAsync(
+                () -> passwordEncoder.encode(request.getPassword()),
+                SIGNUP_STEPS
+        );
+        CompletableFuture<Void> email = CompletableFuture
+                .supplyAsync(() -> uniquenessService.isEmailTaken(request.getEmail()), SIGNUP_STEPS)
+                .thenAccept(taken -> {
+                    if (taken) {
+                        throw new BadRequestException("Email already registered");
+                    }
+                });
+        CompletableFuture<Void> phone = CompletableFuture
+                .supplyAsync(() -> uniquenessService.isPhoneTaken(request.getPhoneNumber()), SIGNUP_STEPS)
+                .thenAccept(taken -> {
+                    if (taken) {
+                        throw new BadRequestException("Phone already registered");
+                    }
+                });
+
+        CompletableFuture<?>[] steps = {email, phone, hash};
+        for (CompletableFuture<?> step : steps) {
+            step.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    cancel(steps);
+                }
+            });
+        }
+
+        try {
+            CompletableFuture.allOf(steps).join();
+            return hash.join();
+        } catch (CompletionException | CancellationException ex) {
+            // report the step that failed, not the ones it cancelled (email first, as before)
+            throw failure(steps);
+        } finally {
+            cancel(steps);
+        }
+    }
+
+    private static void cancel(CompletableFuture<?>[] steps) {
+        // a no-op for steps that are done; a running step is not interrupted, its result is dropped
+        for (CompletableFuture<?> step : steps) {
+            step.cancel(true);
+        }
+    }
+
+    private static RuntimeException failure(CompletableFuture<?>[] steps) {
+        for (CompletableFuture<?> step : steps) {
+            if (!step.isCompletedExceptionally() || step.isCancelled()) {
+                continue;
+            }
+            try {
+                step.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                return cause instanceof RuntimeException runtime ? runtime : ex;
+            }
+        }
+        return new CancellationException("Signup preparation was cancelled");
+    }
 }
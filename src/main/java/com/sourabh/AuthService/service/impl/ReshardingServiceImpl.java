@@ -0,0 +1,206 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ShardManager;
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.service.contract.ReshardingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Online bucket moves between shards:
+ * bulk copy while writable, freeze, copy the delta, flip ownership, delete
+ * from the source. Each phase waits long enough for every pod to pick up the
+ * new bucket map. Re-running a failed move is safe: rows keep their global id
+ * and each copied batch replaces them by id in one transaction on the target.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "sharding", name = "enabled", havingValue = "true")
+public class ReshardingServiceImpl implements ReshardingService {
+
+    private static final int BATCH_SIZE = 500;
+
+    // tolerated clock skew between pods when selecting the delta
+    private static final long DELTA_SAFETY_SECONDS = 60;
+
+    private static final String COLUMNS = """
+        id, email, first_name, last_name, phone_number, city, password,
+        email_verified, phone_number_verified, created_at, updated_at, shard_bucket, version,
+        email_canonical, phone_e164, role
+    """;
+
+    private static final RowMapper<Object[]> ROW = (rs, i) -> {
+        Object[] row = new Object[16];
+        for (int c = 0; c < row.length; c++) {
+            row[c] = rs.getObject(c + 1);
+        }
+        return row;
+    };
+
+    private final ShardManager shardManager;
+
+    @Override
+    public Map<Integer, Integer> bucketsPerShard() {
+        Map<Integer, Integer> counts = new TreeMap<>();
+        for (int shard = 0; shard < shardManager.shardCount(); shard++) {
+            counts.put(shard, 0);
+        }
+        for (int bucket = 0; bucket < ShardManager.BUCKETS; bucket++) {
+            counts.merge(shardManager.shardOfBucket(bucket), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /* ===================== MOVE ===================== */
+
+    @Override
+    public long moveBucket(int bucket, int targetShard) {
+
+        if (bucket < 0 || bucket >= ShardManager.BUCKETS) {
+            throw new BadRequestException("Unknown bucket " + bucket);
+        }
+        if (targetShard < 0 || targetShard >= shardManager.shardCount()) {
+            throw new BadRequestException("Unknown shard " + targetShard);
+        }
+
+        int sourceShard = shardManager.shardOfBucket(bucket);
+        if (sourceShard == targetShard) {
+            return 0;
+        }
+
+        LocalDateTime copyStart = LocalDateTime.now().minusSeconds(DELTA_SAFETY_SECONDS);
+        long copied = copy(bucket, sourceShard, targetShard, null);
+
+        shardManager.assignBucket(bucket, sourceShard, ShardManager.BucketState.FROZEN);
+        try {
+            awaitPropagation();
+            copied += copy(bucket, sourceShard, targetShard, copyStart);
+            shardManager.assignBucket(bucket, targetShard, ShardManager.BucketState.ACTIVE);
+        } catch (RuntimeException ex) {
+            shardManager.assignBucket(bucket, sourceShard, ShardManager.BucketState.ACTIVE);
+            throw ex;
+        }
+
+        awaitPropagation();
+        int deleted = shardManager.shard(sourceShard).update("DELETE FROM user WHERE shard_bucket = ?", bucket);
+
+        log.info("Moved bucket {} from shard {} to {}: {} rows copied, {} removed from source",
+                bucket, sourceShard, targetShard, copied, deleted);
+        return deleted;
+    }
+
+    private long copy(int bucket, int sourceShard, int targetShard, LocalDateTime since) {
+
+        JdbcTemplate source = shardManager.shard(sourceShard);
+        JdbcTemplate target = shardManager.shard(targetShard);
+        TransactionTemplate targetTransaction =
+                new TransactionTemplate(new DataSourceTransactionManager(target.getDataSource()));
+
+        long copied = 0;
+        long lastId = 0;
+
+        while (true) {
+            List<Object[]> rows = since == null
+                    ? source.query(
+                            "SELECT " + COLUMNS + " FROM user WHERE shard_bucket = ? AND id > ? ORDER BY id LIMIT " + BATCH_SIZE,
+                            ROW, bucket, lastId)
+                    : source.query(
+                            "SELECT " + COLUMNS + " FROM user WHERE shard_bucket = ? AND id > ?"
+                                    + " AND COALESCE(updated_at, created_at) >= ? ORDER BY id LIMIT " + BATCH_SIZE,
+                            ROW, bucket, lastId, Timestamp.valueOf(since));
+
+            if (rows.isEmpty()) {
+                return copied;
+            }
+
+            List<Object[]> ids = rows.stream().map(row -> new Object[]{row[0]}).toList();
+
+            // replace as a unit: a failed batch leaves the target as it was
+            targetTransaction.executeWithoutResult(status -> {
+                target.batchUpdate("DELETE FROM user WHERE id = ?", ids);
+                target.batchUpdate("INSERT INTO user (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            });
+
+            lastId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+            copied += rows.size();
+        }
+    }
+
+    private void awaitPropagation() {
+        try {
+            Thread.sleep(shardManager.refreshIntervalMs() * 2);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shard map to propagate", ex);
+        }
+    }
+
+    /* ===================== DIRECTORY ===================== */
+
+    /**
+     * Backfills user_directory and shard_bucket from the shards, e.g. when
+     * sharding is switched on for an existing single database. Rows keep
+     * their ids, and new ids are allocated above them, so run it before the
+     * first signup on a sharded deployment.
+     */
+    @Override
+    public long rebuildDirectory() {
+
+        long registered = 0;
+
+        for (int shard = 0; shard < shardManager.shardCount(); shard++) {
+            JdbcTemplate jdbc = shardManager.shard(shard);
+            long lastId = 0;
+
+            while (true) {
+                List<Object[]> rows = jdbc.query(
+                        "SELECT id, email, phone_number FROM user WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE,
+                        (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId
+                );
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<Object[]> buckets = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    String email = (String) row[1];
+                    buckets.add(new Object[]{ShardManager.bucketFor(email), row[0]});
+                    try {
+                        shardManager.registerExisting((Long) row[0], email, (String) row[2]);
+                        registered++;
+                    } catch (DuplicateKeyException ex) {
+                        // already registered, or its canonical email/phone is taken by a user on another shard
+                        if (shardManager.emailForId((Long) row[0]).isEmpty()) {
+                            log.warn("User {} on shard {} collides with another account in the directory and cannot"
+                                    + " sign in until it is merged or renamed", row[0], shard);
+                        }
+                    }
+                    if (shardManager.shardForRead(email) != shard) {
+                        log.warn("User {} is on shard {} but its bucket maps elsewhere", row[0], shard);
+                    }
+                }
+                jdbc.batchUpdate("UPDATE user SET shard_bucket = ? WHERE id = ?", buckets);
+
+                lastId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        }
+
+        return registered;
+    }
+}
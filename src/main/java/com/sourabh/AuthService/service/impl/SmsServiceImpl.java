@@ -0,0 +1,229 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.service.contract.SmsGateway;
+import com.sourabh.AuthService.service.contract.SmsService;
+import com.sourabh.AuthService.util.AfterCommit;
+import com.sourabh.AuthService.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous SMS dispatcher. sendOtp only enqueues, so callers such as
+ * /login/phone never wait on the provider. Worker threads drain the queue in
+ * batches and deliver them with bounded, jittered retries behind a circuit
+ * breaker. When the queue is full or the circuit is open, messages are dropped
+ * and counted: an OTP that arrives minutes late is useless anyway.
+ *
+ * Inside a transaction the message is only enqueued once it commits, so a
+ * signup that rolls back never texts a code for an account that doesn't exist.
+ */
+@Slf4j
+@Service
+public class SmsServiceImpl implements SmsService {
+
+    private final SmsGateway gateway;
+    private final BlockingQueue<SmsGateway.Message> queue;
+    private final CircuitBreaker circuitBreaker;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final int batchSize;
+    private final long lingerMs;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Timer successLatency;
+    private final Timer failureLatency;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Counter rejected;
+    private final Counter retries;
+
+    private volatile boolean running = true;
+
+    public SmsServiceImpl(
+            SmsGateway gateway,
+            MeterRegistry meterRegistry,
+            @Value("${sms.dispatch.queue-capacity:10000}") int queueCapacity,
+            @Value("${sms.dispatch.workers:2}") int workerCount,
+            @Value("${sms.dispatch.batch-size:50}") int batchSize,
+            @Value("${sms.dispatch.linger-ms:20}") long lingerMs,
+            @Value("${sms.dispatch.max-attempts:3}") int maxAttempts,
+            @Value("${sms.dispatch.base-backoff-ms:200}") long baseBackoffMs,
+            @Value("${sms.dispatch.max-backoff-ms:2000}") long maxBackoffMs,
+            @Value("${sms.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${sms.circuit.open-ms:30000}") long openMs
+    ) {
+        this.gateway = gateway;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+
+        String provider = gateway.name();
+        this.successLatency = Timer.builder("sms.provider.latency")
+                .tag("provider", provider).tag("outcome", "success")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.failureLatency = Timer.builder("sms.provider.latency")
+                .tag("provider", provider).tag("outcome", "failure")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sent = messages(meterRegistry, provider, "sent");
+        this.failed = messages(meterRegistry, provider, "failed");
+        this.dropped = messages(meterRegistry, provider, "dropped");
+        this.rejected = messages(meterRegistry, provider, "circuit_open");
+        this.retries = Counter.builder("sms.dispatch.retries")
+                .tag("provider", provider)
+                .register(meterRegistry);
+
+        Gauge.builder("sms.dispatch.queue.size", queue, BlockingQueue::size)
+                .tag("provider", provider)
+                .register(meterRegistry);
+        Gauge.builder("sms.circuit.state", circuitBreaker, cb -> cb.state().ordinal())
+                .tag("provider", provider)
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "sms-dispatch-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        workers.forEach(Thread::start);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /* ===================== ENQUEUE ===================== */
+
+    @Override
+    public void sendOtp(String phone, String otp) {
+
+        SmsGateway.Message message = new SmsGateway.Message(
+                phone,
+                "Your OTP: " + otp + ". Valid for 5 minutes. Do not share this code."
+        );
+
+        AfterCommit.run(() -> enqueue(message));
+    }
+
+    private void enqueue(SmsGateway.Message message) {
+        if (!queue.offer(message)) {
+            dropped.increment();
+            log.warn("SMS queue full, dropping OTP message to {}", message.to());
+        }
+    }
+
+    /* ===================== WORKER ===================== */
+
+    private void drain() {
+
+        List<SmsGateway.Message> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                SmsGateway.Message first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    SmsGateway.Message next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                deliver(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("SMS dispatch worker error", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<SmsGateway.Message> batch) throws InterruptedException {
+
+        for (int attempt = 1; ; attempt++) {
+
+            if (!circuitBreaker.tryAcquire()) {
+                rejected.increment(batch.size());
+                log.warn("SMS circuit open for {}, dropping {} messages", gateway.name(), batch.size());
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                gateway.send(batch);
+                successLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                circuitBreaker.onSuccess();
+                sent.increment(batch.size());
+                return;
+            } catch (Exception ex) {
+                failureLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                circuitBreaker.onFailure();
+
+                if (attempt >= maxAttempts) {
+                    failed.increment(batch.size());
+                    log.error("SMS delivery via {} failed after {} attempts", gateway.name(), attempt, ex);
+                    return;
+                }
+
+                retries.increment();
+                Thread.sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    // exponential backoff with full jitter
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static Counter messages(MeterRegistry registry, String provider, String result) {
+        return Counter.builder("sms.dispatch.messages")
+                .tag("provider", provider)
+                .tag("result", result)
+                .register(registry);
+    }
+}
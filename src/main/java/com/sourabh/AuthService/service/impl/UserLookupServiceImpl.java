@@ -0,0 +1,78 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ReadYourWrites;
+import com.sourabh.AuthService.dto.projection.UserAuthView;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.service.contract.UserLookupService;
+import com.sourabh.AuthService.util.SingleFlight;
+import com.sourabh.AuthService.util.Canonical;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.sourabh.AuthService.config.ReplicaRoutingDataSource.onPrimary;
+
+/**
+ * Read-only user lookups with concurrent identical calls coalesced into a
+ * single query (an app start fires many requests with the same token).
+ *
+ * These are the hottest reads (JwtFilter, login), so they go to a replica,
+ * except for accounts written in the last few seconds (ReadYourWrites).
+ */
+@Service
+public class UserLookupServiceImpl implements UserLookupService {
+
+    // a flight on a replica may have started before the write; pinned reads fly separately
+    private static final String PRIMARY_FLIGHT = "primary:";
+
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+
+    private final SingleFlight<String, Optional<User>> byEmail;
+    private final SingleFlight<String, Optional<UserAuthView>> authViewByEmail;
+    private final SingleFlight<String, Optional<UserAuthView>> authViewByPhone;
+
+    public UserLookupServiceImpl(
+            UserRepository userRepository,
+            ReadYourWrites readYourWrites,
+            MeterRegistry meterRegistry,
+            @Value("${lookup.coalesce.timeout-ms:2000}") long timeoutMs
+    ) {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.byEmail = new SingleFlight<>("user.by-email", timeoutMs, meterRegistry);
+        this.authViewByEmail = new SingleFlight<>("user-auth.by-email", timeoutMs, meterRegistry);
+        this.authViewByPhone = new SingleFlight<>("user-auth.by-phone", timeoutMs, meterRegistry);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        String canonical = Canonical.email(email);
+        // callers may mutate the (detached) entity, so each one gets its own copy
+        return lookup(byEmail, canonical, () -> userRepository.findByEmailCanonical(canonical))
+                .map(user -> user.toBuilder().build());
+    }
+
+    @Override
+    public Optional<UserAuthView> findAuthViewByEmail(String email) {
+        String canonical = Canonical.email(email);
+        return lookup(authViewByEmail, canonical, () -> userRepository.findAuthViewByEmailCanonical(canonical));
+    }
+
+    @Override
+    public Optional<UserAuthView> findAuthViewByPhoneNumber(String phoneNumber) {
+        String canonical = Canonical.phone(phoneNumber);
+        return lookup(authViewByPhone, canonical, () -> userRepository.findAuthViewByPhoneE164(canonical));
+    }
+
+    private <T> T lookup(SingleFlight<String, T> flight, String key, Supplier<T> query) {
+        if (readYourWrites.isRecent(key)) {
+            return flight.execute(PRIMARY_FLIGHT + key, () -> onPrimary(query));
+        }
+        return flight.execute(key, query);
+    }
+}
@@ -0,0 +1,140 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.dto.response.UserSearchResponse;
+import com.sourabh.AuthService.enums.UserSearchSort;
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.service.contract.UserSearchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class UserSearchServiceImpl implements UserSearchService {
+
+    private static final BadRequestException INVALID_CURSOR = new BadRequestException("Invalid cursor");
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    public UserSearchServiceImpl(
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            @Value("${user-search.max-page-size:500}") int maxPageSize
+    ) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /* ===================== PAGE ===================== */
+
+    @Override
+    public UserSearchResponse search(UserSearchCriteria criteria) {
+
+        if (criteria.getSort() == null) {
+            criteria.setSort(UserSearchSort.ID);
+        }
+        int limit = Math.max(1, Math.min(maxPageSize, criteria.getLimit()));
+
+        Long afterId = null;
+        LocalDateTime afterCreatedAt = null;
+
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            String[] key = decodeCursor(criteria.getCursor(), criteria.getSort());
+            afterId = parseId(key[key.length - 1]);
+            if (criteria.getSort() == UserSearchSort.CREATED_AT) {
+                afterCreatedAt = parseCreatedAt(key[0]);
+            }
+        }
+
+        // one extra row tells us whether there is a next page
+        List<UserSummary> rows = userRepository.searchUsers(criteria, afterId, afterCreatedAt, limit + 1);
+
+        boolean more = rows.size() > limit;
+        List<UserSummary> page = more ? rows.subList(0, limit) : rows;
+
+        return UserSearchResponse.builder()
+                .users(page)
+                .nextCursor(more ? encodeCursor(page.get(page.size() - 1), criteria.getSort()) : null)
+                .build();
+    }
+
+    /* ===================== STREAM ===================== */
+
+    @Override
+    public void stream(UserSearchCriteria criteria, OutputStream out) throws IOException {
+
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+
+            userRepository.streamUsers(criteria, user -> {
+                try {
+                    writer.write(user);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    /* ===================== CURSOR ===================== */
+
+    // "<sort>|<createdAt>|<id>" or "<sort>|<id>", base64url so clients treat it as opaque
+    private static String encodeCursor(UserSummary last, UserSearchSort sort) {
+        String key = sort == UserSearchSort.CREATED_AT
+                ? sort.name() + "|" + last.createdAt() + "|" + last.id()
+                : sort.name() + "|" + last.id();
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, UserSearchSort sort) {
+        String key;
+        try {
+            key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw INVALID_CURSOR;
+        }
+
+        String[] parts = key.split("\\|");
+        int expected = sort == UserSearchSort.CREATED_AT ? 3 : 2;
+        if (parts.length != expected || !parts[0].equals(sort.name())) {
+            throw INVALID_CURSOR;
+        }
+        return sort == UserSearchSort.CREATED_AT
+                ? new String[]{parts[1], parts[2]}
+                : new String[]{parts[1]};
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw INVALID_CURSOR;
+        }
+    }
+
+    private static LocalDateTime parseCreatedAt(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw INVALID_CURSOR;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ShardManager;
+import com.sourabh.AuthService.dto.response.UserStatisticsResponse;
+import com.sourabh.AuthService.enums.OtpType;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import com.sourabh.AuthService.util.DayBuckets;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory statistics, incremented by the services after their transaction
+ * commits and periodically reconciled with one aggregate query.
+ *
+ * Reconciliation runs in a read-only transaction, so with read replicas
+ * enabled it never touches the primary; with sharding it runs the same
+ * query on every shard and adds the results up. Counts recorded by other
+ * instances (or lost in a race with the reset) show up at the next
+ * reconciliation; the drift found each time is logged.
+ */
+@Slf4j
+@Service
+public class UserStatisticsServiceImpl implements UserStatisticsService {
+
+    private static final String AGGREGATE_SQL = """
+        SELECT 'users' AS kind, NULL AS k, COUNT(*) AS a,
+               COALESCE(SUM(email_verified AND phone_number_verified), 0) AS b
+        FROM user
+        UNION ALL
+        SELECT 'signups', CAST(signup_day AS CHAR(10)), COUNT(*), 0
+        FROM (SELECT CAST(created_at AS DATE) AS signup_day FROM user WHERE created_at >= ?) signup
+        GROUP BY signup_day
+        UNION ALL
+        -- succeeded: OTPs marked verified; failed: wrong codes, kept in attempts
+        SELECT 'otp', type, COALESCE(SUM(verified), 0), COALESCE(SUM(attempts), 0)
+        FROM otp
+        GROUP BY type
+    """;
+
+    private final DataSource dataSource;
+    private final ObjectProvider<ShardManager> shardManager;
+    private final TransactionTemplate readOnly;
+    private final long reconcileIntervalSeconds;
+
+    private final LongAdder totalUsers = new LongAdder();
+    private final LongAdder verifiedUsers = new LongAdder();
+    private final DayBuckets signups;
+    private final Map<OtpType, LongAdder> otpSucceeded = new EnumMap<>(OtpType.class);
+    private final Map<OtpType, LongAdder> otpFailed = new EnumMap<>(OtpType.class);
+
+    private volatile LocalDateTime reconciledAt;
+    private ScheduledExecutorService scheduler;
+
+    public UserStatisticsServiceImpl(
+            DataSource dataSource,
+            ObjectProvider<ShardManager> shardManager,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${stats.days:30}") int days,
+            @Value("${stats.reconcile-interval-seconds:300}") long reconcileIntervalSeconds
+    ) {
+        this.dataSource = dataSource;
+        this.shardManager = shardManager;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.reconcileIntervalSeconds = reconcileIntervalSeconds;
+        this.signups = new DayBuckets(days);
+
+        for (OtpType type : OtpType.values()) {
+            otpSucceeded.put(type, new LongAdder());
+            otpFailed.put(type, new LongAdder());
+        }
+
+        Gauge.builder("users.total", totalUsers, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("users.verified", verifiedUsers, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startReconciling() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly,
+                0, Math.max(1, reconcileIntervalSeconds), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /* ===================== RECORD ===================== */
+
+    @Override
+    public void userCreated(boolean verified) {
+        afterCommit(() -> {
+            totalUsers.increment();
+            signups.add(LocalDate.now(), 1);
+            if (verified) {
+                verifiedUsers.increment();
+            }
+        });
+    }
+
+    @Override
+    public void userVerified() {
+        afterCommit(verifiedUsers::increment);
+    }
+
+    @Override
+    public void userUnverified() {
+        afterCommit(verifiedUsers::decrement);
+    }
+
+    @Override
+    public void otpChecked(OtpType type, boolean success) {
+        afterCommit((success ? otpSucceeded : otpFailed).get(type)::increment);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    /* ===================== READ ===================== */
+
+    @Override
+    public UserStatisticsResponse snapshot() {
+
+        Map<OtpType, UserStatisticsResponse.OtpVerifications> otp = new EnumMap<>(OtpType.class);
+        for (OtpType type : OtpType.values()) {
+            long succeeded = otpSucceeded.get(type).sum();
+            long failed = otpFailed.get(type).sum();
+            long checks = succeeded + failed;
+            otp.put(type, new UserStatisticsResponse.OtpVerifications(
+                    succeeded,
+                    failed,
+                    checks == 0 ? 0 : (double) succeeded / checks
+            ));
+        }
+
+        return UserStatisticsResponse.builder()
+                .totalUsers(totalUsers.sum())
+                .verifiedUsers(verifiedUsers.sum())
+                .signupsPerDay(signups.snapshot(LocalDate.now()))
+                .otpVerifications(otp)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /* ===================== RECONCILE ===================== */
+
+    @Override
+    public synchronized void reconcile() {
+
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(signups.days() - 1);
+
+        long users = 0;
+        long verified = 0;
+        Map<LocalDate, Long> perDay = new HashMap<>();
+        Map<OtpType, long[]> otp = new EnumMap<>(OtpType.class);
+
+        for (JdbcTemplate jdbc : targets()) {
+            List<Object[]> rows = readOnly.execute(status -> jdbc.query(
+                    AGGREGATE_SQL,
+                    (rs, i) -> new Object[]{rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4)},
+                    Date.valueOf(firstDay)
+            ));
+
+            for (Object[] row : rows) {
+                long a = (Long) row[2];
+                long b = (Long) row[3];
+                switch ((String) row[0]) {
+                    case "users" -> {
+                        users += a;
+                        verified += b;
+                    }
+                    case "signups" -> perDay.merge(LocalDate.parse((String) row[1]), a, Long::sum);
+                    case "otp" -> {
+                        long[] counts = otp.computeIfAbsent(OtpType.valueOf((String) row[1]), type -> new long[2]);
+                        counts[0] += a;
+                        counts[1] += b;
+                    }
+                    default -> throw new IllegalStateException("Unexpected aggregate row " + row[0]);
+                }
+            }
+        }
+
+        // the first run replaces counts that started from zero; drift only means something after that
+        boolean first = reconciledAt == null;
+        long drift = totalUsers.sum() - users;
+
+        replace(totalUsers, users);
+        replace(verifiedUsers, verified);
+        for (LocalDate day = firstDay; !day.isAfter(today); day = day.plusDays(1)) {
+            signups.set(day, perDay.getOrDefault(day, 0L));
+        }
+        for (OtpType type : OtpType.values()) {
+            long[] counts = otp.getOrDefault(type, new long[2]);
+            replace(otpSucceeded.get(type), counts[0]);
+            replace(otpFailed.get(type), counts[1]);
+        }
+        reconciledAt = LocalDateTime.now();
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!first && drift != 0) {
+            log.info("Statistics reconciled in {} ms: in-memory user count was off by {}", elapsedMs, drift);
+        } else {
+            log.debug("Statistics reconciled in {} ms", elapsedMs);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Statistics reconciliation failed, keeping the in-memory counters", ex);
+        }
+    }
+
+    private List<JdbcTemplate> targets() {
+        ShardManager shards = shardManager.getIfAvailable();
+        List<JdbcTemplate> targets = new ArrayList<>();
+        if (shards == null) {
+            targets.add(new JdbcTemplate(dataSource));
+        } else {
+            for (int shard = 0; shard < shards.shardCount(); shard++) {
+                targets.add(shards.shard(shard));
+            }
+        }
+        return targets;
+    }
+
+    private static void replace(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+}
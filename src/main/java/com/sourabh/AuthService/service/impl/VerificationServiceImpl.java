@@ -1,13 +1,17 @@
 package com.sourabh.AuthService.service.impl;
 
+import com.sourabh.AuthService.config.ReadYourWrites;
 import com.sourabh.AuthService.dto.request.VerifyAccountRequest;
 import com.sourabh.AuthService.entity.User;
-import com.sourabh.AuthService.enums.OtpType;
+import com.sourabh.AuthService.enums.UserEventType;
 import com.sourabh.AuthService.exceptions.BadRequestException;
 import com.sourabh.AuthService.exceptions.NotFoundException;
 import com.sourabh.AuthService.repository.UserRepository;
 import com.sourabh.AuthService.service.impl.OtpServiceImpl;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
 import com.sourabh.AuthService.service.contract.VerificationService;
+import com.sourabh.AuthService.util.Canonical;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,33 +22,38 @@ public class VerificationServiceImpl implements VerificationService {
 
     private final UserRepository userRepository;
     private final OtpServiceImpl otpService;
+    private final UserEventPublisher userEventPublisher;
+    private final UserStatisticsService userStatisticsService;
+    private final ReadYourWrites readYourWrites;
 
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = BadRequestException.class)
     public void verifyAccount(VerifyAccountRequest request) {
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        User user = userRepository.findByEmailCanonical(Canonical.email(request.getEmail()))
+                .orElseThrow(() -> NotFoundException.USER_NOT_FOUND);
 
-        if (!user.getPhoneNumber().equals(request.getPhoneNumber())) {
+        if (!Canonical.phone(user.getPhoneNumber()).equals(Canonical.phone(request.getPhoneNumber()))) {
             throw new BadRequestException("Phone number mismatch");
         }
 
-        otpService.verifyEmailOtp(
+        otpService.verifyAccountOtps(
                 request.getEmail(),
                 request.getEmailOtp(),
-                OtpType.EMAIL_VERIFICATION
-        );
-
-        otpService.verifyPhoneOtp(
                 request.getPhoneNumber(),
-                request.getPhoneOtp(),
-                OtpType.PHONE_VERIFICATION
+                request.getPhoneOtp()
         );
 
+        boolean wasVerified = user.isEmailVerified() && user.isPhoneNumberVerified();
+
         user.setEmailVerified(true);
         user.setPhoneNumberVerified(true);
 
         userRepository.save(user);
+        userEventPublisher.publish(UserEventType.USER_VERIFIED, user);
+        readYourWrites.wrote(Canonical.email(user.getEmail()), Canonical.phone(user.getPhoneNumber()));
+        if (!wasVerified) {
+            userStatisticsService.userVerified();
+        }
     }
 }
@@ -0,0 +1,118 @@
+package com.sourabh.AuthService.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-style adaptive concurrency limit.
+ *
+ * Latency samples are averaged over small windows. A long-term average RTT
+ * is tracked next to the window average; while the recent RTT stays close
+ * to the long-term one the limit grows by ~sqrt(limit) per window, and once
+ * queueing pushes the recent RTT up the limit shrinks in proportion
+ * (gradient = longRtt / shortRtt, clamped to [0.5, 1]).
+ *
+ * tryAcquire / release are lock-free; only the window bookkeeping is
+ * synchronized, once per completed request.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // recent RTT may exceed the long-term RTT by this factor before the limit backs off
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInflight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int windowSize) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = Math.max(1, windowSize);
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return the start timestamp to pass to {@link #release}, or -1 when the limit is reached
+     */
+    public long tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * @param sample false for requests whose latency says nothing about load (e.g. failed fast)
+     */
+    public void release(long startNanos, boolean sample) {
+        int inflightAtEnd = inflight.getAndDecrement();
+        if (sample) {
+            onSample(System.nanoTime() - startNanos, inflightAtEnd);
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    /* ===================== GRADIENT ===================== */
+
+    private synchronized void onSample(long rttNanos, int inflightAtEnd) {
+
+        windowRttSum += rttNanos;
+        windowMaxInflight = Math.max(windowMaxInflight, inflightAtEnd);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInflight = windowMaxInflight;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInflight = 0;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOW;
+        }
+
+        // after a sustained shift the long-term RTT would lag for minutes; pull it towards the present
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // app-limited: low concurrency tells us nothing about how much more we could take
+        if (maxInflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRtt));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double next = estimatedLimit * gradient + queueSize;
+        next = estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,35 @@
+package com.sourabh.AuthService.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs side effects (messages, counters) only once the surrounding
+ * transaction has committed, and right away when there is none.
+ *
+ * Hooks afterCompletion rather than afterCommit: synchronization is already
+ * cleared by then, so an action that itself goes through AfterCommit runs
+ * immediately instead of registering a callback that would never fire.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.sourabh.AuthService.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped set of breached password SHA-1 hashes.
+ *
+ * File layout (big endian), written by {@link BreachedPasswordIndexBuilder}:
+ * <pre>
+ *   magic        8 bytes  "PWNDIDX1"
+ *   records      long     number of hashes
+ *   index        long[65537]  first record of each 2-byte hash prefix, plus the end
+ *   suffixes     18 bytes per hash, sorted, prefix stripped
+ * </pre>
+ *
+ * A lookup reads two index slots and binary-searches the prefix's suffixes
+ * in place; nothing is copied onto the heap, whatever the file size.
+ */
+public final class BreachedPasswordIndex {
+
+    static final byte[] MAGIC = {'P', 'W', 'N', 'D', 'I', 'D', 'X', '1'};
+    static final int HASH_LENGTH = 20;
+    static final int PREFIX_LENGTH = 2;
+    static final int SUFFIX_LENGTH = HASH_LENGTH - PREFIX_LENGTH;
+    static final int PREFIXES = 1 << (8 * PREFIX_LENGTH);
+    static final int INDEX_OFFSET = MAGIC.length + Long.BYTES;
+    static final long RECORDS_OFFSET = INDEX_OFFSET + (long) Long.BYTES * (PREFIXES + 1);
+
+    // a MappedByteBuffer is int-addressed, so large files are mapped in ~1 GiB record-aligned chunks
+    private static final long CHUNK_RECORDS = (1L << 30) / SUFFIX_LENGTH;
+
+    private final MappedByteBuffer index;
+    private final MappedByteBuffer[] chunks;
+    private final long records;
+
+    private BreachedPasswordIndex(MappedByteBuffer index, MappedByteBuffer[] chunks, long records) {
+        this.index = index;
+        this.chunks = chunks;
+        this.records = records;
+    }
+
+    public static BreachedPasswordIndex open(Path path) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            if (channel.size() < RECORDS_OFFSET) {
+                throw new IOException(path + " is not a breached password index (too short)");
+            }
+
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, RECORDS_OFFSET);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (index.get(i) != MAGIC[i]) {
+                    throw new IOException(path + " is not a breached password index (bad magic)");
+                }
+            }
+
+            long records = index.getLong(MAGIC.length);
+            if (records < 0
+                    || channel.size() != RECORDS_OFFSET + records * SUFFIX_LENGTH
+                    || index.getLong(INDEX_OFFSET + Long.BYTES * PREFIXES) != records) {
+                throw new IOException(path + " is truncated or corrupt");
+            }
+
+            int chunkCount = (int) ((records + CHUNK_RECORDS - 1) / CHUNK_RECORDS);
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int c = 0; c < chunkCount; c++) {
+                long first = c * CHUNK_RECORDS;
+                long count = Math.min(CHUNK_RECORDS, records - first);
+                chunks[c] = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        RECORDS_OFFSET + first * SUFFIX_LENGTH,
+                        count * SUFFIX_LENGTH
+                );
+            }
+
+            // mappings stay valid after the channel is closed
+            return new BreachedPasswordIndex(index, chunks, records);
+        }
+    }
+
+    /**
+     * @param sha1 the 20-byte SHA-1 of the password
+     */
+    public boolean contains(byte[] sha1) {
+
+        int prefix = ((sha1[0] & 0xFF) << 8) | (sha1[1] & 0xFF);
+        long low = index.getLong(INDEX_OFFSET + Long.BYTES * prefix);
+        long high = index.getLong(INDEX_OFFSET + Long.BYTES * (prefix + 1)) - 1;
+
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int cmp = compareSuffix(mid, sha1);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        return records;
+    }
+
+    private int compareSuffix(long record, byte[] sha1) {
+        ByteBuffer chunk = chunks[(int) (record / CHUNK_RECORDS)];
+        int position = (int) (record % CHUNK_RECORDS) * SUFFIX_LENGTH;
+
+        for (int i = 0; i < SUFFIX_LENGTH; i++) {
+            int a = chunk.get(position + i) & 0xFF;
+            int b = sha1[PREFIX_LENGTH + i] & 0xFF;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return 0;
+    }
+}
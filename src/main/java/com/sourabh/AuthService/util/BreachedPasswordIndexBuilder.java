@@ -0,0 +1,136 @@
+package com.sourabh.AuthService.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Converts the public Pwned Passwords SHA-1 dump ("HASH:COUNT" per line,
+ * ordered by hash) into the {@link BreachedPasswordIndex} format.
+ *
+ * The output is written next to the target and atomically renamed over it,
+ * so a running service picks up the new version on its next reload check
+ * while in-flight lookups keep reading the old mapping.
+ *
+ * Usage: see scripts/build-breached-passwords.sh
+ */
+@Slf4j
+public final class BreachedPasswordIndexBuilder {
+
+    private BreachedPasswordIndexBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            log.error("usage: BreachedPasswordIndexBuilder <pwned-passwords-sha1.txt> <output.idx>");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        long records = build(Path.of(args[0]), Path.of(args[1]));
+        log.info("{} hashes written to {} in {} s",
+                records, args[1], (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    public static long build(Path dump, Path output) throws IOException {
+
+        Path target = output.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long[] counts = new long[BreachedPasswordIndex.PREFIXES];
+        long records = 0;
+
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BufferedReader reader = Files.newBufferedReader(dump, StandardCharsets.US_ASCII)) {
+
+            /* ===================== SUFFIXES ===================== */
+
+            channel.position(BreachedPasswordIndex.RECORDS_OFFSET);
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 20);
+
+            byte[] hash = new byte[BreachedPasswordIndex.HASH_LENGTH];
+            byte[] previous = null;
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                parseHash(line, hash, lineNumber);
+
+                if (previous != null) {
+                    int order = Arrays.compareUnsigned(previous, hash);
+                    if (order == 0) {
+                        continue;
+                    }
+                    if (order > 0) {
+                        throw new IOException("Dump is not ordered by hash at line " + lineNumber
+                                + "; download the ordered-by-hash variant");
+                    }
+                } else {
+                    previous = new byte[hash.length];
+                }
+                System.arraycopy(hash, 0, previous, 0, hash.length);
+
+                counts[((hash[0] & 0xFF) << 8) | (hash[1] & 0xFF)]++;
+                out.write(hash, BreachedPasswordIndex.PREFIX_LENGTH, BreachedPasswordIndex.SUFFIX_LENGTH);
+                records++;
+            }
+            out.flush();
+
+            /* ===================== HEADER + INDEX ===================== */
+
+            ByteBuffer header = ByteBuffer.allocate((int) BreachedPasswordIndex.RECORDS_OFFSET);
+            header.put(BreachedPasswordIndex.MAGIC);
+            header.putLong(records);
+            long offset = 0;
+            for (long count : counts) {
+                header.putLong(offset);
+                offset += count;
+            }
+            header.putLong(offset);
+            header.flip();
+
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return records;
+    }
+
+    private static void parseHash(String line, byte[] hash, long lineNumber) throws IOException {
+        int end = line.indexOf(':');
+        if ((end < 0 ? line.trim().length() : end) != 2 * hash.length) {
+            throw new IOException("Expected a 40 character SHA-1 at line " + lineNumber);
+        }
+        for (int i = 0; i < hash.length; i++) {
+            int high = Character.digit(line.charAt(2 * i), 16);
+            int low = Character.digit(line.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IOException("Invalid hex at line " + lineNumber);
+            }
+            hash[i] = (byte) ((high << 4) | low);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.sourabh.AuthService.util;
+
+import com.sourabh.AuthService.exceptions.ServiceUnavailableException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded executor for one class of endpoints.
+ *
+ * The calling (servlet) thread hands the work over and waits for it. When
+ * every worker is busy and the queue is full the call is rejected at once;
+ * when it is still queued after {@code queueTimeoutMs} it is withdrawn and
+ * the caller gets a 503. Either way nothing ran, so "retry" is honest and
+ * the idempotency key can be released.
+ *
+ * Work that has started is never abandoned: it may already have written, and
+ * a 503 while its transaction can still commit would invite a duplicate. The
+ * caller waits for the outcome; running work is bounded by the dependencies'
+ * own timeouts (JDBC, SMTP, SMS). A stalled dependency still only ever ties
+ * up threads + queue servlet threads, never the whole pool.
+ */
+public class Bulkhead implements AutoCloseable {
+
+    private final String name;
+    private final long queueTimeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public Bulkhead(String name, int threads, int queueCapacity, long queueTimeoutMs) {
+        this.name = name;
+        this.queueTimeoutMs = queueTimeoutMs;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread thread = new Thread(r, "bulkhead-" + name + "-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public <T> T call(Callable<T> task) {
+
+        // whoever flips it first decides: the worker runs the task, or the caller withdraws it
+        AtomicBoolean claimed = new AtomicBoolean();
+        Callable<T> timed = RequestTiming.propagating(task);
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> claimed.compareAndSet(false, true) ? timed.call() : null);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+
+        boolean interrupted;
+        try {
+            return future.get(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            interrupted = false;
+        } catch (InterruptedException ex) {
+            interrupted = true;
+        } catch (ExecutionException ex) {
+            throw unwrapped(ex);
+        }
+
+        if (claimed.compareAndSet(false, true)) {
+            executor.remove((Runnable) future);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Request was interrupted");
+            }
+            timeouts.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+
+        // already running: it may have written, so wait for its outcome instead of answering early
+        return awaitStarted(future, interrupted);
+    }
+
+    private static <T> T awaitStarted(Future<T> future, boolean interrupted) {
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw unwrapped(ex);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static RuntimeException unwrapped(ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /* ===================== SATURATION ===================== */
+
+    public String name() {
+        return name;
+    }
+
+    public int threads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int active() {
+        return executor.getActiveCount();
+    }
+
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    // 1.0 = every worker busy; above 1.0 work is queueing
+    public double saturation() {
+        return (double) (active() + queued()) / threads();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    // calls withdrawn while still queued
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sourabh.AuthService.util;
+
+import java.util.Locale;
+
+/**
+ * Canonical forms used for lookups and uniqueness: emails trimmed and
+ * lower-cased, phone numbers in E.164. Stored next to the raw values
+ * (User.emailCanonical / phoneE164), which keep what the user typed.
+ */
+public final class Canonical {
+
+    // signup only accepts Indian mobile numbers, so national numbers are +91
+    private static final String DEFAULT_COUNTRY_CODE = "91";
+    private static final int NATIONAL_NUMBER_LENGTH = 10;
+
+    private Canonical() {
+    }
+
+    public static String email(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * "98765 43210", "098765-43210", "0091 9876543210" and "+91 (98765) 43210"
+     * all become "+919876543210". Input that does not look like a phone number
+     * is returned trimmed, so it still compares consistently.
+     */
+    public static String phone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+
+        String trimmed = phone.trim();
+        StringBuilder digits = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')' && !(c == '+' && i == 0)) {
+                return trimmed;
+            }
+        }
+
+        if (trimmed.startsWith("+")) {
+            return "+" + digits;
+        }
+        if (digits.length() > 2 && digits.charAt(0) == '0' && digits.charAt(1) == '0') {
+            return "+" + digits.substring(2);
+        }
+        if (digits.length() == NATIONAL_NUMBER_LENGTH + 1 && digits.charAt(0) == '0') {
+            return "+" + DEFAULT_COUNTRY_CODE + digits.substring(1);
+        }
+        if (digits.length() == NATIONAL_NUMBER_LENGTH) {
+            return "+" + DEFAULT_COUNTRY_CODE + digits;
+        }
+        if (digits.length() == NATIONAL_NUMBER_LENGTH + DEFAULT_COUNTRY_CODE.length()
+                && digits.indexOf(DEFAULT_COUNTRY_CODE) == 0) {
+            return "+" + digits;
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sourabh.AuthService.util;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-day counters for the last {@code days} days in a fixed ring of
+ * LongAdders, so recording is a striped add with no allocation. A slot is
+ * recycled the first time a newer day lands on it; a count racing that
+ * rollover at midnight can be lost, which the periodic reconciliation
+ * against the database corrects.
+ */
+public class DayBuckets {
+
+    private final int days;
+    private final AtomicLongArray slotDays;
+    private final LongAdder[] counts;
+
+    public DayBuckets(int days) {
+        this.days = Math.max(1, days);
+        this.slotDays = new AtomicLongArray(this.days);
+        this.counts = new LongAdder[this.days];
+        for (int i = 0; i < this.days; i++) {
+            slotDays.set(i, Long.MIN_VALUE);
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void add(LocalDate day, long delta) {
+        LongAdder count = slotFor(day.toEpochDay());
+        if (count != null) {
+            count.add(delta);
+        }
+    }
+
+    // replaces the day's count, e.g. with the value from the database
+    public void set(LocalDate day, long value) {
+        LongAdder count = slotFor(day.toEpochDay());
+        if (count != null) {
+            count.reset();
+            count.add(value);
+        }
+    }
+
+    /**
+     * Oldest day first, zero for days without data.
+     */
+    public Map<LocalDate, Long> snapshot(LocalDate today) {
+        Map<LocalDate, Long> snapshot = new LinkedHashMap<>();
+        for (long day = today.toEpochDay() - days + 1; day <= today.toEpochDay(); day++) {
+            int slot = Math.floorMod(day, days);
+            snapshot.put(LocalDate.ofEpochDay(day), slotDays.get(slot) == day ? counts[slot].sum() : 0L);
+        }
+        return snapshot;
+    }
+
+    public int days() {
+        return days;
+    }
+
+    // null for a day that has already fallen out of the window
+    private LongAdder slotFor(long day) {
+        int slot = Math.floorMod(day, days);
+        if (slotDays.get(slot) != day) {
+            synchronized (counts[slot]) {
+                long current = slotDays.get(slot);
+                if (current > day) {
+                    return null;
+                }
+                if (current != day) {
+                    counts[slot].reset();
+                    slotDays.set(slot, day);
+                }
+            }
+        }
+        return counts[slot];
+    }
+}
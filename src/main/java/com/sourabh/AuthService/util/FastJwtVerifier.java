@@ -0,0 +1,280 @@
+package com.sourabh.AuthService.util;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Allocation-light verifier for the tokens {@link JwtUtil} issues itself:
+ * header {"alg":"HS256"} and a payload holding only sub / iat / exp.
+ *
+ * It can only ever accept a token. Anything it does not fully understand
+ * (other header, extra claims, escapes, bad signature, expiry) returns null
+ * and the caller falls back to jjwt, which stays the authority on rejection.
+ */
+final class FastJwtVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final int SIGNATURE_CHARS = 43;
+    private static final int MAX_SIGNED_LENGTH = 1024;
+
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        java.util.Arrays.fill(DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final String expectedHeader;
+    private final ThreadLocal<Buffers> buffers;
+
+    FastJwtVerifier(SecretKey key) {
+        this.expectedHeader = Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        this.buffers = ThreadLocal.withInitial(() -> new Buffers(newMac(key)));
+    }
+
+    /**
+     * Returns the subject when the token is a well-formed, correctly signed,
+     * unexpired token of our own shape; null otherwise.
+     */
+    String verify(String token, long nowMillis) {
+
+        int headerLength = expectedHeader.length();
+        if (token.length() <= headerLength + 1 + 1 + SIGNATURE_CHARS
+                || !token.startsWith(expectedHeader)
+                || token.charAt(headerLength) != '.') {
+            return null;
+        }
+
+        int signatureDot = token.length() - SIGNATURE_CHARS - 1;
+        if (token.charAt(signatureDot) != '.'
+                || signatureDot > MAX_SIGNED_LENGTH
+                || token.indexOf('.', headerLength + 1) != signatureDot) {
+            return null;
+        }
+
+        Buffers b = buffers.get();
+
+        // -------- SIGNATURE --------
+        for (int i = 0; i < signatureDot; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7F) {
+                return null;
+            }
+            b.signed[i] = (byte) c;
+        }
+
+        try {
+            b.mac.update(b.signed, 0, signatureDot);
+            b.mac.doFinal(b.expected, 0);
+        } catch (GeneralSecurityException ex) {
+            b.mac.reset();
+            return null;
+        }
+
+        if (decode(token, signatureDot + 1, token.length(), b.actual) != SIGNATURE_LENGTH
+                || !constantTimeEquals(b.expected, b.actual)) {
+            return null;
+        }
+
+        // -------- CLAIMS --------
+        int payloadLength = decode(token, headerLength + 1, signatureDot, b.payload);
+        if (payloadLength < 0) {
+            return null;
+        }
+
+        return parseClaims(b.payload, payloadLength, nowMillis);
+    }
+
+    /* ===================== MINIMAL CLAIMS PARSER ===================== */
+
+    private static String parseClaims(byte[] json, int length, long nowMillis) {
+
+        String subject = null;
+        long exp = -1;
+        boolean seenIat = false;
+
+        int i = skipWhitespace(json, 0, length);
+        if (i >= length || json[i++] != '{') {
+            return null;
+        }
+
+        while (true) {
+            i = skipWhitespace(json, i, length);
+            if (i >= length || json[i++] != '"') {
+                return null;
+            }
+
+            int keyStart = i;
+            while (i < length && json[i] != '"') {
+                i++;
+            }
+            if (i >= length) {
+                return null;
+            }
+            int keyLength = i - keyStart;
+            i = skipWhitespace(json, i + 1, length);
+            if (i >= length || json[i++] != ':') {
+                return null;
+            }
+            i = skipWhitespace(json, i, length);
+
+            if (isKey(json, keyStart, keyLength, 's', 'u', 'b') && subject == null) {
+                if (i >= length || json[i++] != '"') {
+                    return null;
+                }
+                int valueStart = i;
+                while (i < length && json[i] != '"') {
+                    if (json[i] == '\\') {
+                        return null;
+                    }
+                    i++;
+                }
+                if (i >= length || i == valueStart) {
+                    return null;
+                }
+                subject = new String(json, valueStart, i - valueStart, StandardCharsets.UTF_8);
+                i++;
+            } else if (isKey(json, keyStart, keyLength, 'i', 'a', 't') && !seenIat) {
+                int end = skipDigits(json, i, length);
+                if (end == i) {
+                    return null;
+                }
+                seenIat = true;
+                i = end;
+            } else if (isKey(json, keyStart, keyLength, 'e', 'x', 'p') && exp < 0) {
+                int end = skipDigits(json, i, length);
+                if (end == i || end - i > 15) {
+                    return null;
+                }
+                exp = 0;
+                for (int d = i; d < end; d++) {
+                    exp = exp * 10 + (json[d] - '0');
+                }
+                i = end;
+            } else {
+                return null;
+            }
+
+            i = skipWhitespace(json, i, length);
+            if (i >= length) {
+                return null;
+            }
+            byte c = json[i++];
+            if (c == '}') {
+                break;
+            }
+            if (c != ',') {
+                return null;
+            }
+        }
+
+        if (skipWhitespace(json, i, length) != length || subject == null || exp < 0) {
+            return null;
+        }
+
+        return nowMillis < exp * 1000L ? subject : null;
+    }
+
+    private static boolean isKey(byte[] json, int start, int length, char a, char b, char c) {
+        return length == 3 && json[start] == a && json[start + 1] == b && json[start + 2] == c;
+    }
+
+    private static int skipWhitespace(byte[] json, int i, int length) {
+        while (i < length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipDigits(byte[] json, int i, int length) {
+        while (i < length && json[i] >= '0' && json[i] <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    /**
+     * Decodes unpadded Base64url straight from the token into {@code out}.
+     * Returns the number of bytes written, or -1 on bad input / overflow /
+     * non-canonical trailing bits.
+     */
+    private static int decode(String src, int from, int to, byte[] out) {
+
+        int chars = to - from;
+        if (chars % 4 == 1) {
+            return -1;
+        }
+
+        int length = chars / 4 * 3 + (chars % 4 == 0 ? 0 : chars % 4 - 1);
+        if (length > out.length) {
+            return -1;
+        }
+
+        int o = 0;
+        int bits = 0;
+        int accumulator = 0;
+
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int v = c < 128 ? DECODE[c] : -1;
+            if (v < 0) {
+                return -1;
+            }
+            accumulator = (accumulator << 6) | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[o++] = (byte) (accumulator >> bits);
+            }
+        }
+
+        // the unused low bits of the last char must be zero, otherwise several
+        // strings decode to the same bytes and the token is not canonical
+        if ((accumulator & ((1 << bits) - 1)) != 0) {
+            return -1;
+        }
+
+        return o;
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b) {
+        int diff = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private static Mac newMac(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 not available", ex);
+        }
+    }
+
+    private static final class Buffers {
+        final Mac mac;
+        final byte[] signed = new byte[MAX_SIGNED_LENGTH];
+        final byte[] payload = new byte[MAX_SIGNED_LENGTH];
+        final byte[] expected = new byte[SIGNATURE_LENGTH];
+        final byte[] actual = new byte[SIGNATURE_LENGTH];
+
+        Buffers(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
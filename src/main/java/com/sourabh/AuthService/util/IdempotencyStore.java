@@ -0,0 +1,98 @@
+package com.sourabh.AuthService.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded in-memory store of Idempotency-Key results.
+ *
+ * The first request for a key becomes its owner and runs; concurrent
+ * duplicates wait on the owner's future, later ones replay the stored
+ * response. TTL is fixed, so insertion order is also expiry order and
+ * eviction walks from the head of the map.
+ *
+ * In-flight claims are never evicted, by TTL or by capacity: dropping one
+ * would let a retry run the request a second time while the first is still
+ * executing. The store can therefore exceed max-entries by at most the
+ * number of requests currently in flight.
+ */
+@Component
+public class IdempotencyStore {
+
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    public record Claim(boolean owner, String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> result, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    public IdempotencyStore(
+            @Value("${idempotency.max-entries:100000}") int maxEntries,
+            @Value("${idempotency.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    public synchronized Claim claim(String key, String fingerprint) {
+
+        long now = System.currentTimeMillis();
+        evict(now);
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(false, existing.fingerprint(), existing.result());
+        }
+
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), now + ttlMillis);
+        entries.put(key, entry);
+
+        return new Claim(true, fingerprint, entry.result());
+    }
+
+    public void complete(Claim claim, StoredResponse response) {
+        claim.result().complete(response);
+    }
+
+    /**
+     * Owner finished with a result that must not be replayed (5xx, exception):
+     * forget the key so the next attempt runs again, and wake the waiters.
+     */
+    public void abandon(String key, Claim claim) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.result() == claim.result()) {
+                entries.remove(key);
+            }
+        }
+        claim.result().complete(null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry head = it.next();
+            if (head.expiresAt() > now && entries.size() < maxEntries) {
+                return;
+            }
+            if (head.result().isDone()) {
+                it.remove();
+            }
+        }
+    }
+}
@@ -13,6 +13,8 @@ public class JwtUtil {
 
     private final SecretKey key;
     private final long expiryMillis;
+    private final JwtParser parser;
+    private final FastJwtVerifier fastVerifier;
 
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
@@ -20,34 +22,52 @@ public class JwtUtil {
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expiryMillis = expiryMinutes * 60 * 1000L;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.fastVerifier = new FastJwtVerifier(key);
     }
 
     public String generateToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiryMillis))
-                .signWith(key, SignatureAlgorithm.HS256)
-                .compact();
+        try (RequestTiming.Phase ignored = RequestTiming.phase("jwt")) {
+            return Jwts.builder()
+                    .setSubject(email)
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + expiryMillis))
+                    .signWith(key, SignatureAlgorithm.HS256)
+                    .compact();
+        }
     }
 
     public String extractEmail(String token) {
-        return parseClaims(token).getSubject();
+        String subject = fastVerifier.verify(token, System.currentTimeMillis());
+        return subject != null ? subject : parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            parseClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+        return validateAndExtractEmail(token) != null;
+    }
+
+    /**
+     * Single-pass validate + extract. Returns the email, or null if the token is invalid.
+     */
+    public String validateAndExtractEmail(String token) {
+        try (RequestTiming.Phase ignored = RequestTiming.phase("jwt")) {
+            String subject = fastVerifier.verify(token, System.currentTimeMillis());
+            if (subject != null) {
+                return subject;
+            }
+
+            try {
+                return parseClaims(token).getSubject();
+            } catch (JwtException | IllegalArgumentException ex) {
+                return null;
+            }
         }
     }
 
     private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -0,0 +1,267 @@
+package com.sourabh.AuthService.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Per-request phase breakdown (db, bcrypt, smtp, jwt, ...).
+ *
+ * RequestTimingFilter opens a recording per request; code that wants
+ * a phase measured wraps it in {@code try (var phase = RequestTiming.phase("db"))}.
+ * Every phase is also a JFR event, so the same breakdown shows up in a
+ * flight recording without the request context.
+ *
+ * The recording is thread-bound: work handed to another thread is wrapped
+ * with one of the propagating helpers so its phases still count.
+ */
+public final class RequestTiming {
+
+    private static final int MAX_PHASES = 8;
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private RequestTiming() {
+    }
+
+    /* ===================== PHASES ===================== */
+
+    public static Phase phase(String name) {
+        Phase phase = new Phase(name, System.nanoTime());
+        phase.begin();
+        return phase;
+    }
+
+    /**
+     * Server-Timing header value for what has been recorded so far,
+     * or null outside a request.
+     */
+    public static String serverTimingHeader() {
+        Recording recording = CURRENT.get();
+        return recording != null ? recording.serverTiming() : null;
+    }
+
+    /* ===================== REQUEST LIFECYCLE ===================== */
+
+    public static Recording begin(String method, String uri) {
+        Recording recording = new Recording(method, uri, System.nanoTime());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The calling thread's recording, for handing work to another thread
+     * with {@link #attach}; null outside a request.
+     */
+    public static Recording current() {
+        return CURRENT.get();
+    }
+
+    public static void attach(Recording recording) {
+        if (recording != null) {
+            CURRENT.set(recording);
+        }
+    }
+
+    /* ===================== PROPAGATION ===================== */
+
+    /**
+     * Runs every task on the given executor under the recording of the
+     * thread that submits it.
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> {
+            Recording recording = CURRENT.get();
+            executor.execute(() -> runAttached(recording, task));
+        };
+    }
+
+    public static <T> Callable<T> propagating(Callable<T> task) {
+        Recording recording = CURRENT.get();
+        return () -> {
+            Recording previous = CURRENT.get();
+            attach(recording);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    // for parallel streams, whose fork-join workers never pass through an executor we could wrap;
+    // call it on the request thread, it captures the recording there
+    public static <T> Consumer<T> propagatingEach(Consumer<T> action) {
+        Recording recording = CURRENT.get();
+        return item -> runAttached(recording, () -> action.accept(item));
+    }
+
+    private static void runAttached(Recording recording, Runnable task) {
+        Recording previous = CURRENT.get();
+        attach(recording);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // the worker may be the submitting thread itself (caller-runs, fork-join), so put back what was there
+    private static void restore(Recording previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /* ===================== TYPES ===================== */
+
+    public record Breakdown(
+            Instant at,
+            String method,
+            String uri,
+            int status,
+            double totalMs,
+            Map<String, Double> phasesMs
+    ) {
+    }
+
+    public static final class Recording {
+
+        private final String method;
+        private final String uri;
+        private final long startedNanos;
+        private final Instant startedAt = Instant.now();
+        private final RequestEvent event = new RequestEvent();
+
+        private final String[] names = new String[MAX_PHASES];
+        private final long[] nanos = new long[MAX_PHASES];
+        private int size;
+
+        Recording(String method, String uri, long startedNanos) {
+            this.method = method;
+            this.uri = uri;
+            this.startedNanos = startedNanos;
+            event.begin();
+        }
+
+        /**
+         * Closes the request and returns its total duration in nanoseconds.
+         */
+        public long finish(int status) {
+            long total = System.nanoTime() - startedNanos;
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = method;
+                event.uri = uri;
+                event.status = status;
+                event.commit();
+            }
+            return total;
+        }
+
+        synchronized void add(String name, long elapsed) {
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(name)) {
+                    nanos[i] += elapsed;
+                    return;
+                }
+            }
+            if (size < MAX_PHASES) {
+                names[size] = name;
+                nanos[size++] = elapsed;
+            }
+        }
+
+        synchronized String serverTiming() {
+            StringBuilder header = new StringBuilder(16 * (size + 1));
+            for (int i = 0; i < size; i++) {
+                appendMetric(header, names[i], nanos[i]);
+            }
+            appendMetric(header, "total", System.nanoTime() - startedNanos);
+            return header.toString();
+        }
+
+        public synchronized Breakdown toBreakdown(int status, long totalNanos) {
+            Map<String, Double> phases = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                phases.put(names[i], millis(nanos[i]));
+            }
+            return new Breakdown(startedAt, method, uri, status, millis(totalNanos), phases);
+        }
+
+        private static void appendMetric(StringBuilder header, String name, long nanos) {
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(name).append(";dur=").append(millis(nanos));
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    @Name("com.sourabh.auth.Phase")
+    @Label("Request Phase")
+    @Category({"AuthService", "Request"})
+    @StackTrace(false)
+    public static final class Phase extends Event implements AutoCloseable {
+
+        @Label("Phase")
+        String name;
+
+        @Label("URI")
+        String uri;
+
+        private final transient long startedNanos;
+
+        private Phase(String name, long startedNanos) {
+            this.name = name;
+            this.startedNanos = startedNanos;
+        }
+
+        @Override
+        public void close() {
+            end();
+            Recording recording = CURRENT.get();
+            if (recording != null) {
+                recording.add(name, System.nanoTime() - startedNanos);
+                uri = recording.uri;
+            }
+            if (shouldCommit()) {
+                commit();
+            }
+        }
+    }
+
+    @Name("com.sourabh.auth.Request")
+    @Label("HTTP Request")
+    @Category({"AuthService", "Request"})
+    @StackTrace(false)
+    static final class RequestEvent extends Event {
+
+        @Label("Method")
+        String method;
+
+        @Label("URI")
+        String uri;
+
+        @Label("Status")
+        int status;
+    }
+}
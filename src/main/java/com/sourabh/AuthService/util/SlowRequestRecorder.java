@@ -0,0 +1,54 @@
+package com.sourabh.AuthService.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer of the most recent requests slower than the threshold.
+ * Fast requests cost one comparison; slow ones one array write.
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<RequestTiming.Breakdown> ring;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestRecorder(
+            @Value("${timing.slow.threshold-ms:500}") long thresholdMs,
+            @Value("${timing.slow.capacity:50}") int capacity
+    ) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    public void record(RequestTiming.Recording recording, int status, long totalNanos) {
+        if (totalNanos < thresholdNanos) {
+            return;
+        }
+        int slot = (int) (next.getAndIncrement() % ring.length());
+        ring.set(slot, recording.toBreakdown(status, totalNanos));
+    }
+
+    /**
+     * Slowest first.
+     */
+    public List<RequestTiming.Breakdown> snapshot() {
+        List<RequestTiming.Breakdown> result = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            RequestTiming.Breakdown breakdown = ring.get(i);
+            if (breakdown != null) {
+                result.add(breakdown);
+            }
+        }
+        result.sort(Comparator.comparingDouble(RequestTiming.Breakdown::totalMs).reversed());
+        return result;
+    }
+}
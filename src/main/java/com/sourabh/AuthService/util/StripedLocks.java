@@ -0,0 +1,37 @@
+package com.sourabh.AuthService.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys hash onto. Equal keys always share a lock;
+ * unrelated keys collide with probability 1/stripes, so memory stays
+ * constant however many keys there are, and nothing needs cleaning up.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(Object key) {
+        int h = key.hashCode();
+        // spread the high bits: String hashes of similar keys differ mostly in the low ones
+        h ^= (h >>> 16);
+        h *= 0x45d9f3b;
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
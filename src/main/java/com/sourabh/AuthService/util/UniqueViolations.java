@@ -0,0 +1,60 @@
+package com.sourabh.AuthService.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Tells which account column a unique violation hit, from the violated
+ * constraint's name: every unique index on the email / phone columns of user
+ * and user_directory has "email" / "phone" in its name (migrations V1, V6, V11;
+ * V13 renames the generated ones on databases baselined from ddl-auto=update).
+ * Any other violation is left to the caller.
+ */
+public final class UniqueViolations {
+
+    public enum Column {
+        EMAIL,
+        PHONE
+    }
+
+    // MySQL 1062: Duplicate entry '<value>' for key '<table>.<constraint>'
+    private static final String MYSQL_KEY_MARKER = "for key '";
+
+    private UniqueViolations() {
+    }
+
+    public static Optional<Column> column(DataIntegrityViolationException ex) {
+        String constraint = constraintName(ex);
+        if (constraint == null) {
+            return Optional.empty();
+        }
+        constraint = constraint.toLowerCase(Locale.ROOT);
+        if (constraint.contains("email")) {
+            return Optional.of(Column.EMAIL);
+        }
+        if (constraint.contains("phone")) {
+            return Optional.of(Column.PHONE);
+        }
+        return Optional.empty();
+    }
+
+    // only the constraint name: the duplicate value itself may well contain "email" or "phone"
+    private static String constraintName(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+            if (cause instanceof SQLException sql && sql.getMessage() != null) {
+                int key = sql.getMessage().lastIndexOf(MYSQL_KEY_MARKER);
+                if (key >= 0) {
+                    return sql.getMessage().substring(key + MYSQL_KEY_MARKER.length());
+                }
+            }
+        }
+        return null;
+    }
+}
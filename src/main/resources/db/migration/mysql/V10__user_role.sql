@@ -0,0 +1,8 @@
+-- Authority for /api/v1/admin/**. Every existing user stays USER; admins are
+-- promoted by hand: UPDATE `user` SET role = 'ADMIN' WHERE email_canonical = ...
+--
+-- Online-safe: a column with a default at the end is metadata-only (INSTANT).
+
+ALTER TABLE `user`
+    ADD COLUMN role ENUM ('USER','ADMIN') NOT NULL DEFAULT 'USER',
+    ALGORITHM = INSTANT;
@@ -0,0 +1,21 @@
+-- Shard topology and the cross-shard user directory (ShardManager). Only shard 0's
+-- copies are used; Flyway runs every migration on every shard, so the other
+-- shards carry empty ones.
+
+CREATE TABLE shard_bucket (
+    bucket INTEGER     NOT NULL,
+    shard  INTEGER     NOT NULL,
+    state  VARCHAR(16) NOT NULL,
+    PRIMARY KEY (bucket)
+) ENGINE = InnoDB;
+
+-- user_id is the global user id: it is allocated here and the row on the owning
+-- shard is inserted with it, so ids stay unique across shards and survive moves.
+CREATE TABLE user_directory (
+    user_id      BIGINT       NOT NULL AUTO_INCREMENT,
+    email        VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(32)  NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT ux_user_directory_email UNIQUE (email),
+    CONSTRAINT ux_user_directory_phone UNIQUE (phone_number)
+) ENGINE = InnoDB;
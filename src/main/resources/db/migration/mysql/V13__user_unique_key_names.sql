@@ -0,0 +1,34 @@
+-- Databases baselined from ddl-auto=update carry Hibernate's generated names
+-- (UK_<hash>) for the unique keys on email and phone_number, where V1 has
+-- uk_user_email / uk_user_phone_number. UniqueViolations tells the columns apart
+-- by constraint name, so give them V1's names. A no-op on databases created by V1.
+--
+-- Online-safe: RENAME INDEX only changes metadata (INPLACE, no table copy).
+
+SET @email_key := (
+    SELECT index_name
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'user' AND non_unique = 0
+    GROUP BY index_name
+    HAVING COUNT(*) = 1 AND MAX(column_name) = 'email' AND index_name NOT LIKE '%email%'
+    LIMIT 1
+);
+SET @rename := IF(@email_key IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE `user` RENAME INDEX `', @email_key, '` TO uk_user_email, ALGORITHM = INPLACE, LOCK = NONE'));
+PREPARE rename_key FROM @rename;
+EXECUTE rename_key;
+DEALLOCATE PREPARE rename_key;
+
+SET @phone_key := (
+    SELECT index_name
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'user' AND non_unique = 0
+    GROUP BY index_name
+    HAVING COUNT(*) = 1 AND MAX(column_name) = 'phone_number' AND index_name NOT LIKE '%phone%'
+    LIMIT 1
+);
+SET @rename := IF(@phone_key IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE `user` RENAME INDEX `', @phone_key, '` TO uk_user_phone_number, ALGORITHM = INPLACE, LOCK = NONE'));
+PREPARE rename_key FROM @rename;
+EXECUTE rename_key;
+DEALLOCATE PREPARE rename_key;
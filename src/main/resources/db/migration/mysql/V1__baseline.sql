@@ -0,0 +1,37 @@
+-- Schema as Hibernate's ddl-auto=update left it before migrations were introduced.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and never run this script; new databases start here. Everything added since is
+-- a separate, online-safe migration on top of it.
+
+CREATE TABLE `user` (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    email                 VARCHAR(255) NOT NULL,
+    first_name            VARCHAR(255) NOT NULL,
+    last_name             VARCHAR(255) NOT NULL,
+    phone_number          VARCHAR(255) NOT NULL,
+    city                  VARCHAR(255) NOT NULL,
+    password              VARCHAR(255) NOT NULL,
+    email_verified        BIT          NOT NULL,
+    phone_number_verified BIT          NOT NULL,
+    created_at            DATETIME(6)  NOT NULL,
+    updated_at            DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email),
+    CONSTRAINT uk_user_phone_number UNIQUE (phone_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE otp (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255),
+    phone      VARCHAR(255),
+    otp_hash   VARCHAR(255) NOT NULL,
+    type       ENUM ('EMAIL_VERIFICATION','PHONE_VERIFICATION','FORGOT_PASSWORD','PHONE_LOGIN') NOT NULL,
+    expiry     DATETIME(6)  NOT NULL,
+    verified   BIT          NOT NULL,
+    attempts   INTEGER      NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_otp_email (email),
+    INDEX idx_otp_phone (phone),
+    INDEX idx_otp_type (type)
+) ENGINE = InnoDB;
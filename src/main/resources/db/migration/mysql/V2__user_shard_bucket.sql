@@ -0,0 +1,7 @@
+-- Hash bucket of the email, only maintained when sharding is enabled (ShardManager).
+--
+-- Online-safe: adding a nullable column at the end is metadata-only (INSTANT).
+
+ALTER TABLE `user`
+    ADD COLUMN shard_bucket INTEGER NULL,
+    ALGORITHM = INSTANT;
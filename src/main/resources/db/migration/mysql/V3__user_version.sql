@@ -0,0 +1,8 @@
+-- Optimistic lock column for User (@Version).
+--
+-- The NOT NULL DEFAULT 0 is the backfill: every existing row reads as version 0
+-- without being rewritten, which keeps this an INSTANT, metadata-only change.
+
+ALTER TABLE `user`
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ALGORITHM = INSTANT;
@@ -0,0 +1,10 @@
+-- Admin search: city prefix filter and the created_at keyset (created_at, id).
+--
+-- Online-safe: ALGORITHM=INPLACE, LOCK=NONE keeps reads and writes flowing while
+-- the indexes build, and makes MySQL fail the statement rather than silently
+-- falling back to a table copy.
+
+ALTER TABLE `user`
+    ADD INDEX idx_user_city (city),
+    ADD INDEX idx_user_created_at_id (created_at, id),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,9 @@
+-- Canonical lookup columns: trimmed + lower-cased email and E.164 phone (util.Canonical).
+-- Existing rows are filled by V12 (migration.CanonicalColumnsMigration).
+--
+-- Online-safe: nullable columns at the end are metadata-only (INSTANT).
+
+ALTER TABLE `user`
+    ADD COLUMN email_canonical VARCHAR(255) NULL,
+    ADD COLUMN phone_e164 VARCHAR(20) NULL,
+    ALGORITHM = INSTANT;
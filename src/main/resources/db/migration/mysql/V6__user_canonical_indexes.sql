@@ -0,0 +1,9 @@
+-- Every user lookup goes through the canonical columns; unique so Foo@x.com and
+-- foo@x.com can no longer both register. NULLs (not yet backfilled) do not collide.
+--
+-- Online-safe: built INPLACE without blocking reads or writes.
+
+ALTER TABLE `user`
+    ADD UNIQUE INDEX ux_user_email_canonical (email_canonical),
+    ADD UNIQUE INDEX ux_user_phone_e164 (phone_e164),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,12 @@
+-- Transactional outbox of user-change events, drained by OutboxRelay.
+
+CREATE TABLE outbox_event (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    type         ENUM ('USER_CREATED','USER_VERIFIED','PROFILE_UPDATED','PASSWORD_CHANGED') NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_pending (published_at, id)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- OTP lookups filter on (email | phone, type) and read the newest row first.
+-- The single-column indexes made MySQL pick one and filter the rest row by row;
+-- idx_otp_type (4 distinct values) was never selective enough to be useful.
+--
+-- Online-safe: ALGORITHM=INPLACE, LOCK=NONE keeps reads and writes flowing while
+-- the index builds, and makes MySQL fail the statement rather than silently
+-- falling back to a table copy. The new indexes exist before the old ones go.
+
+ALTER TABLE otp
+    ADD INDEX idx_otp_email_type_created (email, type, created_at),
+    ADD INDEX idx_otp_phone_type_created (phone, type, created_at),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE otp
+    DROP INDEX idx_otp_email,
+    DROP INDEX idx_otp_phone,
+    DROP INDEX idx_otp_type,
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,14 @@
+-- One active OTP per (type, target): concurrent issuers on different instances
+-- race on this unique index and only one insert wins (OtpServiceImpl#createOtp).
+-- NULLs do not collide, so superseded and historical rows keep null here.
+--
+-- Online-safe: adding a nullable column is a metadata-only change (INSTANT),
+-- and the index is built without blocking reads or writes.
+
+ALTER TABLE otp
+    ADD COLUMN active_slot VARCHAR(300) NULL,
+    ALGORITHM = INSTANT;
+
+ALTER TABLE otp
+    ADD UNIQUE INDEX ux_otp_active_slot (active_slot),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,110 @@
+package com.sourabh.AuthService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.util.IdempotencyStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private static final String PATH = "/api/v1/auth/verify";
+
+    private final IdempotencyFilter filter = new IdempotencyFilter(
+            new IdempotencyStore(100, 600), new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 1000);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void identicalRetryIsReplayed() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"otp\":\"111111\"}");
+        MockHttpServletResponse retry = send("key-1", "{\"otp\":\"111111\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void anonymousKeyReusedForADifferentBodyIsRejected() throws Exception {
+        send("key-1", "{\"otp\":\"111111\"}");
+        MockHttpServletResponse misuse = send("key-1", "{\"otp\":\"222222\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(misuse.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    void identicalBodiesUnderDifferentKeysAreSeparateRequests() throws Exception {
+        send("key-1", "{\"otp\":\"111111\"}");
+        MockHttpServletResponse other = send("key-2", "{\"otp\":\"111111\"}");
+
+        assertThat(executions).hasValue(2);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void authenticatedKeysAreScopedBySubject() throws Exception {
+        authenticateAs(1L);
+        send("shared", "{}");
+        authenticateAs(2L);
+        MockHttpServletResponse other = send("shared", "{}");
+
+        assertThat(executions).hasValue(2);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void sameSubjectReusingAKeyForADifferentBodyIsRejected() throws Exception {
+        authenticateAs(1L);
+        send("key-1", "{\"otp\":\"111111\"}");
+        MockHttpServletResponse misuse = send("key-1", "{\"otp\":\"222222\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(misuse.getStatus()).isEqualTo(422);
+    }
+
+    private MockHttpServletResponse send(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.addHeader("Idempotency-Key", key);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                res.setStatus(201);
+                res.setContentType("text/plain");
+                res.getWriter().write("execution " + executions.incrementAndGet());
+            }
+        }));
+        return response;
+    }
+
+    private static void authenticateAs(long userId) {
+        User user = User.builder().id(userId).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.sourabh.AuthService.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JitWarmupTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void readinessIsDownUntilWarmUpHasRun() throws Exception {
+        JitWarmup warmup = warmup(true, 60_000, 50);
+
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.DOWN);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(warmup.health().getDetails()).containsEntry("iterations", 51L);
+    }
+
+    @Test
+    void onlyQueriesReservedAddresses() throws Exception {
+        warmup(true, 60_000, 20).run(new DefaultApplicationArguments());
+
+        verify(userRepository, atLeastOnce()).findAuthViewByEmailCanonical(endsWith("@warmup.invalid"));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void stopsAtTheBudget() throws Exception {
+        JitWarmup warmup = warmup(true, 200, Long.MAX_VALUE);
+
+        long start = System.nanoTime();
+        warmup.run(new DefaultApplicationArguments());
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(5_000);
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void failingStepDoesNotBlockReadiness() throws Exception {
+        when(userRepository.findAuthViewByEmailCanonical(anyString())).thenThrow(new IllegalStateException("db down"));
+        JitWarmup warmup = warmup(true, 60_000, 1_000);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void disabledIsReadyAtOnce() throws Exception {
+        JitWarmup warmup = warmup(false, 60_000, 1_000);
+
+        warmup.run(new DefaultApplicationArguments());
+
+        assertThat(warmup.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(warmup.health().getDetails()).containsEntry("iterations", 0L);
+        verify(userRepository, never()).findAuthViewByEmailCanonical(anyString());
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private JitWarmup warmup(boolean enabled, long budgetMs, long maxIterations) {
+        return new JitWarmup(
+                new BCryptPasswordEncoder(4),
+                new JwtUtil("0123456789abcdef0123456789abcdef", 60),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                userRepository,
+                new SimpleMeterRegistry(),
+                enabled,
+                budgetMs,
+                maxIterations,
+                1
+        );
+    }
+}
@@ -0,0 +1,152 @@
+package com.sourabh.AuthService.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded H2 databases stand in for the primary and a replica; each
+ * holds a marker row naming itself, so a query shows where it was routed.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void tearDown() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        Routed routed = route(database("primary"), database("replica"));
+
+        assertThat(routed.readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void writesAndNonTransactionalReadsStayOnThePrimary() {
+        Routed routed = route(database("primary"), database("replica"));
+
+        assertThat(routed.readWrite()).isEqualTo("primary");
+        assertThat(routed.jdbc.queryForObject("SELECT name FROM marker", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void onPrimaryPinsReadOnlyTransactionsToThePrimary() {
+        Routed routed = route(database("primary"), database("replica"));
+
+        assertThat(ReplicaRoutingDataSource.onPrimary(routed::readOnly)).isEqualTo("primary");
+        assertThat(routed.readOnly()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://127.0.0.1:1/nowhere", "sa", "");
+        Routed routed = route(database("primary"), down);
+
+        assertThat(routed.readOnly()).isEqualTo("primary");
+        assertThat(routed.readOnly()).isEqualTo("primary");
+    }
+
+    @Test
+    void poolsAreConfiguredFromHikariProperties() {
+        String primaryUrl = url("primary");
+        String replicaUrl = url("replica");
+        mark(new DriverManagerDataSource(primaryUrl, "sa", ""), "primary");
+        mark(new DriverManagerDataSource(replicaUrl, "sa", ""), "replica");
+
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(primaryUrl);
+        properties.setUsername("sa");
+        properties.setPassword("");
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.pool-name", "auth")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "3")
+                .withProperty("spring.datasource.hikari.connection-timeout", "1500")
+                .withProperty("datasource.replicas.hikari.maximum-pool-size", "7");
+
+        routing = new DataSourceRoutingConfig().replicaRoutingDataSource(
+                properties, environment, List.of(replicaUrl), "sa", "", 60_000);
+        routing.afterPropertiesSet();
+
+        HikariDataSource primary = (HikariDataSource) routing.getResolvedDataSources().get(ReplicaRoutingDataSource.PRIMARY);
+        HikariDataSource replica = (HikariDataSource) routing.getResolvedDataSources().get("replica-0");
+
+        assertThat(primary.getPoolName()).isEqualTo("auth");
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(primary.getConnectionTimeout()).isEqualTo(1500);
+        assertThat(replica.getPoolName()).isEqualTo("auth-replica-0");
+        assertThat(replica.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(replica.getConnectionTimeout()).isEqualTo(1500);
+        assertThat(replica.getJdbcUrl()).isEqualTo(replicaUrl);
+
+        Routed routed = new Routed(routing);
+        assertThat(routed.readOnly()).isEqualTo("replica");
+        assertThat(routed.readWrite()).isEqualTo("primary");
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private Routed route(DataSource primary, DataSource replica) {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), 60_000);
+        routing.afterPropertiesSet();
+        return new Routed(routing);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(url(name), "sa", "");
+        mark(dataSource, name);
+        return dataSource;
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static void mark(DataSource dataSource, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(32))");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+    }
+
+    // wired like the application: routing behind a lazy proxy, transactions on top
+    private static final class Routed {
+        final JdbcTemplate jdbc;
+        final TransactionTemplate readWrite;
+        final TransactionTemplate readOnly;
+
+        Routed(ReplicaRoutingDataSource routing) {
+            DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readWrite = new TransactionTemplate(transactionManager);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+        }
+
+        String readOnly() {
+            return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String readWrite() {
+            return readWrite.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+        }
+    }
+}
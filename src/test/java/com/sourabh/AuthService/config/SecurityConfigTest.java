@@ -0,0 +1,146 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.controller.AdminUserController;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.enums.Role;
+import com.sourabh.AuthService.service.contract.BulkUserService;
+import com.sourabh.AuthService.service.contract.UserLookupService;
+import com.sourabh.AuthService.service.contract.UserSearchService;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import com.sourabh.AuthService.util.JwtUtil;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The real filter chain and JwtFilter in front of AdminUserController; only
+ * the services behind them are mocked.
+ */
+class SecurityConfigTest {
+
+    private static final JwtUtil JWT = new JwtUtil("0123456789abcdef0123456789abcdef", 60);
+
+    private final AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+    private final MockMvc mvc;
+    private final BulkUserService bulkUserService;
+
+    SecurityConfigTest() {
+        context.setServletContext(new MockServletContext());
+        context.register(TestConfig.class);
+        context.refresh();
+        bulkUserService = context.getBean(BulkUserService.class);
+
+        UserLookupService lookups = context.getBean(UserLookupService.class);
+        when(lookups.findByEmail("user@example.com")).thenReturn(Optional.of(user("user@example.com", Role.USER)));
+        when(lookups.findByEmail("admin@example.com")).thenReturn(Optional.of(user("admin@example.com", Role.ADMIN)));
+
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+    }
+
+    @AfterEach
+    void close() {
+        context.close();
+    }
+
+    @Test
+    void anonymousCallersCannotReachAdminEndpoints() throws Exception {
+        mvc.perform(get("/api/v1/admin/users/export")).andExpect(status().isForbidden());
+        mvc.perform(post("/api/v1/admin/users/import")).andExpect(status().isForbidden());
+
+        verify(bulkUserService, never()).exportUsers(any(), anyBoolean());
+        verify(bulkUserService, never()).importUsers(any(), any());
+    }
+
+    @Test
+    void ordinaryUsersCannotReachAdminEndpoints() throws Exception {
+        mvc.perform(get("/api/v1/admin/users/export").header("Authorization", bearer("user@example.com")))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/api/v1/admin/users/import").header("Authorization", bearer("user@example.com")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/v1/admin/users/stats").header("Authorization", bearer("user@example.com")))
+                .andExpect(status().isForbidden());
+
+        verify(bulkUserService, never()).importUsers(any(), any());
+    }
+
+    @Test
+    void adminsReachAdminEndpoints() throws Exception {
+        mvc.perform(get("/api/v1/admin/users/stats").header("Authorization", bearer("admin@example.com")))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/v1/admin/users/import").header("Authorization", bearer("admin@example.com")))
+                .andExpect(status().isOk());
+
+        verify(bulkUserService).importUsers(any(), any());
+    }
+
+    @Test
+    void forgedTokenIsAnonymous() throws Exception {
+        String forged = new JwtUtil("fedcba9876543210fedcba9876543210", 60).generateToken("admin@example.com");
+
+        mvc.perform(get("/api/v1/admin/users/stats").header("Authorization", "Bearer " + forged))
+                .andExpect(status().isForbidden());
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static String bearer(String email) {
+        return "Bearer " + JWT.generateToken(email);
+    }
+
+    private static User user(String email, Role role) {
+        return User.builder().email(email).role(role).build();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import({SecurityConfig.class, AdminUserController.class})
+    static class TestConfig {
+
+        @Bean
+        JwtFilter jwtFilter(UserLookupService userLookupService) {
+            return new JwtFilter(JWT, userLookupService);
+        }
+
+        @Bean
+        UserLookupService userLookupService() {
+            return mock(UserLookupService.class);
+        }
+
+        @Bean
+        BulkUserService bulkUserService() {
+            return mock(BulkUserService.class);
+        }
+
+        @Bean
+        UserSearchService userSearchService() {
+            return mock(UserSearchService.class);
+        }
+
+        @Bean
+        UserStatisticsService userStatisticsService() {
+            return mock(UserStatisticsService.class);
+        }
+    }
+}
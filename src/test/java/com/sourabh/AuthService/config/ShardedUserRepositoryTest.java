@@ -0,0 +1,277 @@
+package com.sourabh.AuthService.config;
+
+import com.sourabh.AuthService.dto.projection.UserAuthView;
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.repository.ShardedUserSearchRepository;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ShardedUserRepositoryTest {
+
+    private static final String USER_TABLE = """
+        CREATE TABLE user (
+            id                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+            email                 VARCHAR(255) NOT NULL UNIQUE,
+            email_canonical       VARCHAR(255) UNIQUE,
+            first_name            VARCHAR(255) NOT NULL,
+            last_name             VARCHAR(255) NOT NULL,
+            phone_number          VARCHAR(255) NOT NULL UNIQUE,
+            phone_e164            VARCHAR(20)  UNIQUE,
+            city                  VARCHAR(255) NOT NULL,
+            password              VARCHAR(255) NOT NULL,
+            email_verified        BOOLEAN      NOT NULL,
+            phone_number_verified BOOLEAN      NOT NULL,
+            role                  VARCHAR(16)  NOT NULL DEFAULT 'USER',
+            created_at            TIMESTAMP(6) NOT NULL,
+            updated_at            TIMESTAMP(6),
+            version               BIGINT       NOT NULL DEFAULT 0,
+            shard_bucket          INTEGER
+        )
+    """;
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+    private final List<JdbcTemplate> shardJdbc = new ArrayList<>();
+    private final EntityManagerFactory callerFactory;
+    private final ShardEntityManagers shardEntityManagers;
+    private final ShardManager shardManager;
+    private final UserRepository users;
+    private final TransactionTemplate transaction;
+
+    ShardedUserRepositoryTest() {
+        String run = UUID.randomUUID().toString();
+        for (int shard = 0; shard < 3; shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:shard-" + shard + "-" + run + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER");
+            dataSource.setUsername("sa");
+            shardDataSources.add(dataSource);
+
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute(USER_TABLE);
+            new ResourceDatabasePopulator(new ClassPathResource("db/migration/mysql/V11__shard_directory.sql"))
+                    .execute(dataSource);
+            shardJdbc.add(jdbc);
+        }
+        shardJdbc.get(0).execute("CREATE TABLE marker (name VARCHAR(32))");
+
+        List<DataSource> shards = List.copyOf(shardDataSources);
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shards);
+        routing.afterPropertiesSet();
+
+        callerFactory = entityManagerFactory("caller", shards.get(0));
+        shardEntityManagers = new ShardEntityManagers(entityManagerFactory("user-shards", routing), callerFactory);
+        shardManager = new ShardManager(shards.get(0), shards, 60_000);
+        users = ShardingConfig.sharded(
+                mock(UserRepository.class),
+                new ShardedUserRepositoryInterceptor(shardManager, shardEntityManagers, new ShardedUserSearchRepository(shards, 2))
+        );
+        transaction = new TransactionTemplate(new JpaTransactionManager(callerFactory));
+    }
+
+    @AfterEach
+    void close() {
+        shardManager.close();
+        shardEntityManagers.close();
+        callerFactory.close();
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void savesOnTheOwningShardWithADirectoryId() {
+        User first = users.save(user(emailOnShard(1, 0), "+15550000001"));
+        User second = users.save(user(emailOnShard(2, 0), "+15550000002"));
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(2L);
+        assertThat(rowsOn(1)).containsExactly(first.getId());
+        assertThat(rowsOn(2)).containsExactly(second.getId());
+        assertThat(rowsOn(0)).isEmpty();
+        assertThat(users.count()).isEqualTo(2);
+        assertThat(users.existsById(second.getId())).isTrue();
+    }
+
+    @Test
+    void lookupsGoToTheOwningShard() {
+        User saved = users.save(user(emailOnShard(2, 0), "+15550000001"));
+
+        assertThat(users.findByEmailCanonical(saved.getEmailCanonical())).get()
+                .extracting(User::getId).isEqualTo(saved.getId());
+        assertThat(users.findByPhoneE164("+15550000001")).get()
+                .extracting(User::getId).isEqualTo(saved.getId());
+        assertThat(users.findById(saved.getId())).isPresent();
+        assertThat(users.findAuthViewByPhoneE164("+15550000001")).get()
+                .extracting(UserAuthView::id).isEqualTo(saved.getId());
+        assertThat(users.existsByEmailCanonical(saved.getEmailCanonical())).isTrue();
+        assertThat(users.findByEmailCanonical("nobody@example.com")).isEmpty();
+    }
+
+    @Test
+    void callerRollbackUndoesTheUserRowAndItsDirectoryEntry() {
+        String email = emailOnShard(1, 0);
+
+        transaction.executeWithoutResult(status -> {
+            users.save(user(email, "+15550000001"));
+            shardJdbc.get(0).update("INSERT INTO marker (name) VALUES ('otp')");
+            status.setRollbackOnly();
+        });
+
+        assertThat(rowsOn(1)).isEmpty();
+        assertThat(users.existsByEmailCanonical(email)).isFalse();
+        assertThat(markers()).isZero();
+    }
+
+    @Test
+    void callerCommitWritesEverySide() {
+        String email = emailOnShard(2, 0);
+
+        transaction.executeWithoutResult(status -> {
+            users.save(user(email, "+15550000001"));
+            shardJdbc.get(0).update("INSERT INTO marker (name) VALUES ('otp')");
+        });
+
+        assertThat(rowsOn(2)).hasSize(1);
+        assertThat(users.existsByEmailCanonical(email)).isTrue();
+        assertThat(markers()).isOne();
+    }
+
+    @Test
+    void emailChangeToAnotherShardMovesTheRowUnderTheSameId() {
+        User saved = users.save(user(emailOnShard(1, 0), "+15550000001"));
+        String newEmail = emailOnShard(2, 1);
+
+        transaction.executeWithoutResult(status -> {
+            User loaded = users.findByEmailCanonical(saved.getEmailCanonical()).orElseThrow();
+            loaded.setEmail(newEmail);
+            users.save(loaded);
+        });
+
+        assertThat(rowsOn(1)).isEmpty();
+        assertThat(rowsOn(2)).containsExactly(saved.getId());
+        User moved = users.findByEmailCanonical(newEmail).orElseThrow();
+        assertThat(moved.getId()).isEqualTo(saved.getId());
+        assertThat(moved.getVersion()).isEqualTo(1L);
+        assertThat(users.existsByEmailCanonical(saved.getEmailCanonical())).isFalse();
+    }
+
+    @Test
+    void failedMoveLeavesBothShardsUntouched() {
+        User saved = users.save(user(emailOnShard(1, 0), "+15550000001"));
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            User loaded = users.findByEmailCanonical(saved.getEmailCanonical()).orElseThrow();
+            loaded.setEmail(emailOnShard(2, 1));
+            users.save(loaded);
+            throw new IllegalStateException("later step failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(rowsOn(1)).containsExactly(saved.getId());
+        assertThat(rowsOn(2)).isEmpty();
+        assertThat(users.existsByEmailCanonical(saved.getEmailCanonical())).isTrue();
+    }
+
+    @Test
+    void staleCopyIsRejected() {
+        User saved = users.save(user(emailOnShard(1, 0), "+15550000001"));
+        User first = users.findById(saved.getId()).orElseThrow();
+        User second = users.findById(saved.getId()).orElseThrow();
+
+        first.setCity("Pune");
+        users.save(first);
+        second.setCity("Delhi");
+
+        assertThatThrownBy(() -> users.save(second)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void duplicateEmailIsRejectedAcrossShards() {
+        String email = emailOnShard(1, 0);
+        users.save(user(email, "+15550000001"));
+
+        assertThatThrownBy(() -> users.save(user(email.toUpperCase(), "+15550000002")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void searchMergesEveryShardInIdOrder() {
+        for (int i = 0; i < 6; i++) {
+            users.save(user(emailOnShard(i % 3, i), "+1555000000" + i));
+        }
+
+        List<UserSummary> page = users.searchUsers(new UserSearchCriteria(), 2L, null, 3);
+        List<Long> streamed = new ArrayList<>();
+        users.streamUsers(new UserSearchCriteria(), user -> streamed.add(user.id()));
+
+        assertThat(page).extracting(UserSummary::id).containsExactly(3L, 4L, 5L);
+        assertThat(streamed).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private String emailOnShard(int shard, int skip) {
+        int found = 0;
+        for (int i = 0; ; i++) {
+            String email = "user" + i + "@example.com";
+            if (shardManager.shardForRead(email) == shard && found++ == skip) {
+                return email;
+            }
+        }
+    }
+
+    private static User user(String email, String phone) {
+        return User.builder()
+                .email(email)
+                .firstName("Test")
+                .lastName("User")
+                .phoneNumber(phone)
+                .city("Mumbai")
+                .password("hash")
+                .build();
+    }
+
+    private List<Long> rowsOn(int shard) {
+        return shardJdbc.get(shard).queryForList("SELECT id FROM user ORDER BY id", Long.class);
+    }
+
+    private int markers() {
+        return shardJdbc.get(0).queryForObject("SELECT COUNT(*) FROM marker", Integer.class);
+    }
+
+    private static EntityManagerFactory entityManagerFactory(String name, DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPersistenceUnitName(name);
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(User.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()
+        ));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+}
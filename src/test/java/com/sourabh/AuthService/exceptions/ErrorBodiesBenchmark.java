@@ -0,0 +1,71 @@
+package com.sourabh.AuthService.exceptions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejection throughput: throwing an expected failure through a few frames and
+ * rendering its 400 body. The baseline is the previous path, a fresh
+ * RuntimeException with its stack trace and a HashMap serialized by Jackson.
+ * Run with -prof gc to compare allocation per rejection.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ErrorBodiesBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorBodiesBenchmark {
+
+    private static final int DEPTH = 32;
+
+    private ObjectMapper objectMapper;
+    private ErrorBodies errorBodies;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        errorBodies = new ErrorBodies(objectMapper);
+    }
+
+    @Benchmark
+    public byte[] stackTraceAndMap() throws Exception {
+        try {
+            throwFrom(DEPTH, null);
+            throw new AssertionError();
+        } catch (RuntimeException ex) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now());
+            body.put("status", HttpStatus.BAD_REQUEST.value());
+            body.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+            body.put("message", ex.getMessage());
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+
+    @Benchmark
+    public byte[] sharedConstantAndCachedBody() {
+        try {
+            throwFrom(DEPTH, BadRequestException.OTP_INVALID);
+            throw new AssertionError();
+        } catch (BadRequestException ex) {
+            return errorBodies.render(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    // stands in for the controller / service / proxy frames between the check and the handler
+    private static void throwFrom(int depth, RuntimeException shared) {
+        if (depth == 0) {
+            throw shared != null ? shared : new RuntimeException("Invalid OTP");
+        }
+        throwFrom(depth - 1, shared);
+    }
+}
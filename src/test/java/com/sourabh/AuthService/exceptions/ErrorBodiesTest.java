@@ -0,0 +1,55 @@
+package com.sourabh.AuthService.exceptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorBodies errorBodies = new ErrorBodies(objectMapper);
+
+    @Test
+    void rendersTheSameFieldsAsTheOldMap() throws Exception {
+        JsonNode body = objectMapper.readTree(errorBodies.render(HttpStatus.BAD_REQUEST, "Invalid OTP"));
+
+        assertThat(body.size()).isEqualTo(4);
+        assertThat(body.get("status").intValue()).isEqualTo(400);
+        assertThat(body.get("error").textValue()).isEqualTo("Bad Request");
+        assertThat(body.get("message").textValue()).isEqualTo("Invalid OTP");
+        assertThat(LocalDateTime.parse(body.get("timestamp").textValue())).isNotNull();
+    }
+
+    @Test
+    void escapesMessagesCarryingRequestData() throws Exception {
+        String message = "email: must match \"^[a-z]+$\"\né中";
+
+        JsonNode body = objectMapper.readTree(errorBodies.render(HttpStatus.BAD_REQUEST, message));
+
+        assertThat(body.get("message").textValue()).isEqualTo(message);
+    }
+
+    @Test
+    void everyResponseGetsItsOwnTimestamp() throws Exception {
+        byte[] first = errorBodies.render(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        Thread.sleep(2);
+        byte[] second = errorBodies.render(HttpStatus.UNAUTHORIZED, "Unauthorized");
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(objectMapper.readTree(first).get("timestamp"))
+                .isNotEqualTo(objectMapper.readTree(second).get("timestamp"));
+    }
+
+    @Test
+    void keepsRenderingOncePastTheCacheLimit() throws Exception {
+        for (int i = 0; i < 2_000; i++) {
+            JsonNode body = objectMapper.readTree(errorBodies.render(HttpStatus.NOT_FOUND, "User " + i + " not found"));
+            assertThat(body.get("message").textValue()).isEqualTo("User " + i + " not found");
+        }
+    }
+}
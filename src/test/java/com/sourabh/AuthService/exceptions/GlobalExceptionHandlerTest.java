@@ -0,0 +1,57 @@
+package com.sourabh.AuthService.exceptions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(objectMapper);
+
+    @Test
+    void accountColumnViolationIsAConflict() throws Exception {
+        ResponseEntity<?> response = handler.handleConflict(violation(
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'a@b.com' for key 'user.ux_user_email_canonical'", "23000", 1062),
+                "user.ux_user_email_canonical"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(409);
+        assertThat(message(response)).isEqualTo("Email or phone number already in use");
+    }
+
+    @Test
+    void unrecognisedViolationIsNotReportedAsAConflict() throws Exception {
+        ResponseEntity<?> tooLong = handler.handleConflict(violation(
+                new SQLException("Data truncation: Data too long for column 'city' at row 1", "22001", 1406), null));
+        ResponseEntity<?> generatedKey = handler.handleConflict(violation(
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'a@b.com' for key 'user.UK_ob8kqyqqgmefl0aco34akdtpe'", "23000", 1062),
+                "user.UK_ob8kqyqqgmefl0aco34akdtpe"));
+
+        for (ResponseEntity<?> response : new ResponseEntity<?>[]{tooLong, generatedKey}) {
+            assertThat(response.getStatusCode().value()).isEqualTo(500);
+            assertThat(message(response)).isEqualTo("Internal server error");
+        }
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static DataIntegrityViolationException violation(SQLException cause, String constraint) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("insert", cause, constraint));
+    }
+
+    private String message(ResponseEntity<?> response) throws Exception {
+        JsonNode body = objectMapper.readTree((byte[]) response.getBody());
+        return body.get("message").textValue();
+    }
+}
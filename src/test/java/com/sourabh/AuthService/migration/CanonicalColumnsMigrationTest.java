@@ -0,0 +1,115 @@
+package com.sourabh.AuthService.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CanonicalColumnsMigrationTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:canonical-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER", "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    CanonicalColumnsMigrationTest() {
+        jdbc.execute("""
+            CREATE TABLE user (
+                id              BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email           VARCHAR(255) NOT NULL UNIQUE,
+                phone_number    VARCHAR(255) NOT NULL UNIQUE,
+                email_canonical VARCHAR(255),
+                phone_e164      VARCHAR(20),
+                CONSTRAINT ux_user_email_canonical UNIQUE (email_canonical),
+                CONSTRAINT ux_user_phone_e164 UNIQUE (phone_e164)
+            )
+        """);
+    }
+
+    @AfterEach
+    void drop() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    void fillsEveryRowAcrossBatches() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < CanonicalColumnsMigration.BATCH_SIZE * 2 + 500; i++) {
+            rows.add(new Object[]{" User" + i + "@Example.com", String.format("98%08d", i)});
+        }
+        jdbc.batchUpdate("INSERT INTO user (email, phone_number) VALUES (?, ?)", rows);
+
+        migrate();
+
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM user WHERE email_canonical IS NULL OR phone_e164 IS NULL", Long.class)).isZero();
+        assertThat(jdbc.queryForMap("SELECT email_canonical, phone_e164 FROM user WHERE id = 8"))
+                .containsEntry("EMAIL_CANONICAL", "user7@example.com")
+                .containsEntry("PHONE_E164", "+919800000007");
+    }
+
+    @Test
+    void collisionsFailTheMigrationWithAReportAfterFillingTheRest() throws Exception {
+        jdbc.update("INSERT INTO user (email, phone_number) VALUES ('foo@example.com', '9876543210')");
+        jdbc.update("INSERT INTO user (email, phone_number) VALUES ('bar@example.com', '9876500000')");
+        jdbc.update("INSERT INTO user (email, phone_number) VALUES ('Foo@Example.com', '98765 11111')");
+        jdbc.update("INSERT INTO user (email, phone_number) VALUES ('baz@example.com', '098765-43210')");
+
+        assertThatThrownBy(this::migrate)
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("2 accounts collide")
+                .hasMessageContaining("user 3 (email foo@example.com) collides with user 1")
+                .hasMessageContaining("user 4 (phone +919876543210) collides with user 1");
+
+        assertThat(canonical(2)).containsEntry("EMAIL_CANONICAL", "bar@example.com");
+        // only the colliding column stays empty
+        assertThat(canonical(3)).containsEntry("EMAIL_CANONICAL", null).containsEntry("PHONE_E164", "+919876511111");
+        assertThat(canonical(4)).containsEntry("EMAIL_CANONICAL", "baz@example.com").containsEntry("PHONE_E164", null);
+    }
+
+    @Test
+    void rerunAfterTheAccountsAreFixedCompletes() throws Exception {
+        jdbc.update("INSERT INTO user (email, phone_number) VALUES ('foo@example.com', '9876543210')");
+        jdbc.update("INSERT INTO user (email, phone_number) VALUES ('FOO@example.com', '9876500000')");
+        assertThatThrownBy(this::migrate).isInstanceOf(FlywayException.class);
+
+        jdbc.update("UPDATE user SET email = 'foo.old@example.com' WHERE id = 2");
+        migrate();
+
+        assertThat(canonical(2)).containsEntry("EMAIL_CANONICAL", "foo.old@example.com");
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private void migrate() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            new CanonicalColumnsMigration().migrate(new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return null;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+            });
+        }
+    }
+
+    private Map<String, Object> canonical(long id) {
+        return jdbc.queryForMap("SELECT email_canonical, phone_e164 FROM user WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sourabh.AuthService.repository;
+
+import com.sourabh.AuthService.entity.OutboxEvent;
+import com.sourabh.AuthService.enums.UserEventType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxEventRepositoryTest {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final OutboxEventRepository outbox;
+    private final TransactionTemplate transaction;
+
+    OutboxEventRepositoryTest() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;LOCK_TIMEOUT=10000", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/mysql/V7__outbox_event.sql")).execute(dataSource);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(OutboxEvent.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()
+        ));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        outbox = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(OutboxEventRepository.class);
+        transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+    }
+
+    @AfterEach
+    void close() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void concurrentRelaysClaimDisjointBatches() throws Exception {
+        insert(5);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<List<Long>> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            List<Long> ids = ids(outbox.claimPending(3));
+            claimed.countDown();
+            await(release);
+            return ids;
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<Long> second = transaction.execute(status -> ids(outbox.claimPending(3)));
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).containsExactly(1L, 2L, 3L);
+        // InnoDB moves on to 4 and 5; H2 applies the LIMIT before skipping, so it may return fewer
+        assertThat(second).doesNotContainAnyElementsOf(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void publishedRowsAreNotClaimedAgain() {
+        insert(3);
+
+        transaction.executeWithoutResult(status ->
+                outbox.markPublished(ids(outbox.claimPending(2)), LocalDateTime.now()));
+
+        List<Long> remaining = transaction.execute(status -> ids(outbox.claimPending(10)));
+        assertThat(remaining).containsExactly(3L);
+    }
+
+    @Test
+    void rolledBackClaimsAreReleased() {
+        insert(1);
+
+        transaction.executeWithoutResult(status -> {
+            outbox.claimPending(10);
+            status.setRollbackOnly();
+        });
+
+        List<Long> reclaimed = transaction.execute(status -> ids(outbox.claimPending(10)));
+        assertThat(reclaimed).containsExactly(1L);
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private void insert(int count) {
+        transaction.executeWithoutResult(status -> {
+            for (int user = 0; user < count; user++) {
+                outbox.save(OutboxEvent.builder()
+                        .type(UserEventType.USER_CREATED)
+                        .userId((long) user)
+                        .payload("{}")
+                        .build());
+            }
+        });
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.sourabh.AuthService.repository;
+
+import com.sourabh.AuthService.dto.projection.UserAuthView;
+import com.sourabh.AuthService.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login-path lookup: the full managed User (outside a transaction, and in a
+ * read-write one) vs the UserAuthView projection in a read-only transaction.
+ * Runs on embedded H2 so it measures the JPA / persistence-context cost, not
+ * the network; run with -prof gc for allocation per lookup.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="UserAuthViewBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserAuthViewBenchmark {
+
+    private static final int USERS = 10_000;
+
+    // same queries as UserRepository#findByEmailCanonical / #findAuthViewByEmailCanonical
+    private static final String ENTITY_QUERY = "SELECT u FROM User u WHERE u.emailCanonical = :email";
+    private static final String PROJECTION_QUERY = """
+        SELECT new com.sourabh.AuthService.dto.projection.UserAuthView(
+            u.id, u.email, u.password, u.emailVerified, u.phoneNumberVerified,
+            u.firstName, u.lastName, u.phoneNumber, u.city
+        )
+        FROM User u
+        WHERE u.emailCanonical = :email
+    """;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:user-auth-view;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER");
+        dataSource.setUsername("sa");
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.sourabh.AuthService.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                // Boot's naming, so columnList = "email_canonical" etc. resolve as in the app
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()
+        ));
+        factory.afterPropertiesSet();
+
+        entityManagerFactory = factory.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readWrite.executeWithoutResult(status -> {
+            for (int i = 0; i < USERS; i++) {
+                entityManager.persist(User.builder()
+                        .email(email(i))
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .phoneNumber(String.valueOf(9_000_000_000L + i))
+                        .city("City" + (i % 100))
+                        .password("$2a$10$abcdefghijklmnopqrstuuabcdefghijklmnopqrstuvwxyz012345")
+                        .emailVerified(true)
+                        .phoneNumberVerified(true)
+                        .build());
+                if (i % 500 == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<User> entityWithoutTransaction() {
+        return entityManager.createQuery(ENTITY_QUERY, User.class)
+                .setParameter("email", randomEmail())
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<User> entityReadWriteTransaction() {
+        return readWrite.execute(status -> entityManager.createQuery(ENTITY_QUERY, User.class)
+                .setParameter("email", randomEmail())
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<UserAuthView> projectionReadOnlyTransaction() {
+        return readOnly.execute(status -> entityManager.createQuery(PROJECTION_QUERY, UserAuthView.class)
+                .setParameter("email", randomEmail())
+                .getResultList());
+    }
+
+    private static String randomEmail() {
+        return email(ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@example.com";
+    }
+}
@@ -0,0 +1,170 @@
+package com.sourabh.AuthService.repository;
+
+import com.sourabh.AuthService.config.ReplicaRoutingDataSource;
+import com.sourabh.AuthService.dto.projection.UserSummary;
+import com.sourabh.AuthService.dto.request.UserSearchCriteria;
+import com.sourabh.AuthService.enums.UserSearchSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchRepositoryImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final DataSource primary = database();
+    private final JdbcTemplate jdbc = new JdbcTemplate(primary);
+    private final UserSearchRepositoryImpl search = new UserSearchRepositoryImpl(primary, 2);
+    private ReplicaRoutingDataSource routing;
+
+    @AfterEach
+    void close() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    @Test
+    void idPagesFollowTheKeyset() {
+        for (int i = 1; i <= 5; i++) {
+            insert("user" + i + "@example.com", "Pune", T0);
+        }
+
+        List<UserSummary> first = search.searchUsers(new UserSearchCriteria(), null, null, 2);
+        List<UserSummary> second = search.searchUsers(new UserSearchCriteria(), last(first).id(), null, 2);
+        List<UserSummary> third = search.searchUsers(new UserSearchCriteria(), last(second).id(), null, 2);
+
+        assertThat(first).extracting(UserSummary::id).containsExactly(1L, 2L);
+        assertThat(second).extracting(UserSummary::id).containsExactly(3L, 4L);
+        assertThat(third).extracting(UserSummary::id).containsExactly(5L);
+    }
+
+    @Test
+    void createdAtTiesAreBrokenById() {
+        insert("a@example.com", "Pune", T0.plusMinutes(1));
+        insert("b@example.com", "Pune", T0);
+        insert("c@example.com", "Pune", T0);
+        insert("d@example.com", "Pune", T0);
+
+        UserSearchCriteria byCreatedAt = new UserSearchCriteria();
+        byCreatedAt.setSort(UserSearchSort.CREATED_AT);
+
+        List<UserSummary> first = search.searchUsers(byCreatedAt, null, null, 2);
+        List<UserSummary> second = search.searchUsers(byCreatedAt, last(first).id(), last(first).createdAt(), 2);
+
+        // the page boundary falls inside the tie: nothing is skipped or repeated
+        assertThat(first).extracting(UserSummary::id).containsExactly(2L, 3L);
+        assertThat(second).extracting(UserSummary::id).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void likeWildcardsInThePrefixAreLiteral() {
+        insert("a_b@example.com", "100% Town", T0);
+        insert("axb@example.com", "1000 Town", T0);
+        insert("a!b@example.com", "Pune", T0);
+
+        assertThat(emails(criteria("a_", null))).containsExactly("a_b@example.com");
+        assertThat(emails(criteria(null, "100%"))).containsExactly("a_b@example.com");
+        assertThat(emails(criteria("a!", null))).containsExactly("a!b@example.com");
+        assertThat(emails(criteria("A", null))).hasSize(3);
+    }
+
+    @Test
+    void streamReturnsEveryMatchInIdOrder() {
+        insert("b@example.com", "Pune", T0);
+        insert("a@example.com", "Pune", T0);
+        insert("c@example.com", "Delhi", T0);
+
+        List<Long> streamed = new ArrayList<>();
+        search.streamUsers(criteria(null, "Pu"), user -> streamed.add(user.id()));
+
+        assertThat(streamed).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void streamRunsOnAReplica() {
+        DataSource replica = database();
+        new JdbcTemplate(replica).update(INSERT, "replica@example.com", "Pune", T0);
+        insert("primary@example.com", "Pune", T0);
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), 60_000);
+        routing.afterPropertiesSet();
+        UserSearchRepository routed = transactional(
+                new UserSearchRepositoryImpl(new LazyConnectionDataSourceProxy(routing), 2), routing);
+
+        List<String> streamed = new ArrayList<>();
+        routed.streamUsers(new UserSearchCriteria(), user -> streamed.add(user.email()));
+
+        assertThat(streamed).containsExactly("replica@example.com");
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static final String INSERT = """
+        INSERT INTO user (email, first_name, last_name, phone_number, city, email_verified, phone_number_verified, created_at)
+        VALUES (?, 'Test', 'User', CONCAT('+1555', RAND()), ?, true, true, ?)
+    """;
+
+    private void insert(String email, String city, LocalDateTime createdAt) {
+        jdbc.update(INSERT, email, city, createdAt);
+    }
+
+    private static UserSearchCriteria criteria(String emailPrefix, String cityPrefix) {
+        UserSearchCriteria criteria = new UserSearchCriteria();
+        criteria.setEmailPrefix(emailPrefix);
+        criteria.setCityPrefix(cityPrefix);
+        return criteria;
+    }
+
+    private List<String> emails(UserSearchCriteria criteria) {
+        return search.searchUsers(criteria, null, null, 10).stream().map(UserSummary::email).toList();
+    }
+
+    private static UserSummary last(List<UserSummary> page) {
+        return page.get(page.size() - 1);
+    }
+
+    // the @Transactional(readOnly = true) the repository proxy applies in the application
+    private static UserSearchRepository transactional(UserSearchRepository target, ReplicaRoutingDataSource routing) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addAdvice(new TransactionInterceptor(
+                new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(routing)),
+                new AnnotationTransactionAttributeSource()));
+        return (UserSearchRepository) factory.getProxy();
+    }
+
+    private static DataSource database() {
+        // MySQL's default collation is case-insensitive, so prefix search is too
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:search-" + UUID.randomUUID()
+                        + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER;IGNORECASE=TRUE", "sa", "");
+        new JdbcTemplate(dataSource).execute("""
+            CREATE TABLE user (
+                id                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email                 VARCHAR(255) NOT NULL UNIQUE,
+                first_name            VARCHAR(255) NOT NULL,
+                last_name             VARCHAR(255) NOT NULL,
+                phone_number          VARCHAR(255) NOT NULL UNIQUE,
+                city                  VARCHAR(255) NOT NULL,
+                email_verified        BOOLEAN      NOT NULL,
+                phone_number_verified BOOLEAN      NOT NULL,
+                created_at            TIMESTAMP(6) NOT NULL
+            )
+        """);
+        return dataSource;
+    }
+}
@@ -0,0 +1,225 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.dto.request.BulkUserRow;
+import com.sourabh.AuthService.dto.response.BulkImportResponse;
+import com.sourabh.AuthService.enums.BulkFormat;
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.service.contract.BreachedPasswordService;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkUserServiceImplTest {
+
+    private static final String BREACHED = "password123";
+
+    private final DataSource dataSource = database();
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final UniquenessService uniquenessService = mock(UniquenessService.class);
+    private final BreachedPasswordService breachedPasswordService = mock(BreachedPasswordService.class);
+    private final List<BulkUserServiceImpl> services = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        services.forEach(BulkUserServiceImpl::shutdown);
+    }
+
+    @Test
+    void csvImportInsertsValidRowsAndReportsTheRest() throws IOException {
+        when(breachedPasswordService.isBreached(BREACHED)).thenReturn(true);
+        jdbc.update("""
+            INSERT INTO user (email, email_canonical, first_name, last_name, phone_number, phone_e164,
+                              city, password, email_verified, phone_number_verified, created_at)
+            VALUES ('taken@example.com', 'taken@example.com', 'Old', 'User', '9000000000', '+919000000000',
+                    'Pune', 'hash', true, true, ?)
+        """, LocalDateTime.now());
+
+        // two chunks of three: the duplicate is caught within the first, the existing account by the query
+        BulkImportResponse response = service(false, false).importUsers(csv(
+                "email,firstName,lastName,phoneNumber,city,password,emailVerified",
+                "a@example.com,Asha,Rao,9876543210,Pune,correct horse,true",
+                "not-an-email,Bad,Row,9876543211,Pune,correct horse,",
+                "A@Example.com,Dup,Row,9876543212,Pune,correct horse,",
+                "Taken@example.com,Taken,Row,9876543213,Pune,correct horse,",
+                "b@example.com,Breached,Row,9876543214,Pune," + BREACHED + ",",
+                "\"c@example.com\",\"Ravi, Jr\",Kumar,9876543215,Delhi,another secret,"
+        ), BulkFormat.CSV);
+
+        assertThat(response.getTotal()).isEqualTo(6);
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrors())
+                .extracting(BulkImportResponse.RowError::getLine, BulkImportResponse.RowError::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(3L, "Invalid email format"),
+                        tuple(4L, "Duplicate email in import"),
+                        tuple(5L, "Email already registered"),
+                        tuple(6L, BadRequestException.PASSWORD_BREACHED.getMessage())
+                );
+
+        assertThat(jdbc.queryForObject("SELECT password FROM user WHERE email = 'a@example.com'", String.class))
+                .satisfies(hash -> assertThat(passwordEncoder.matches("correct horse", hash)).isTrue());
+        assertThat(jdbc.queryForObject("SELECT first_name FROM user WHERE email = 'c@example.com'", String.class))
+                .isEqualTo("Ravi, Jr");
+        assertThat(jdbc.queryForObject("SELECT phone_e164 FROM user WHERE email = 'a@example.com'", String.class))
+                .isEqualTo("+919876543210");
+        verify(uniquenessService).registered("a@example.com", "9876543210");
+        verify(uniquenessService, never()).registered("b@example.com", "9876543214");
+    }
+
+    @Test
+    void ndjsonImportKeepsMigratedHashes() throws IOException {
+        String hash = passwordEncoder.encode("migrated secret");
+
+        BulkImportResponse response = service(false, false).importUsers(ndjson(
+                "{\"email\":\"m@example.com\",\"firstName\":\"Mira\",\"lastName\":\"Shah\","
+                        + "\"phoneNumber\":\"9876543210\",\"city\":\"Pune\",\"passwordHash\":\"" + hash + "\"}",
+                "{not json",
+                "{\"email\":\"n@example.com\",\"firstName\":\"Nina\",\"lastName\":\"Shah\","
+                        + "\"phoneNumber\":\"9876543211\",\"city\":\"Pune\",\"passwordHash\":\"plain\"}"
+        ), BulkFormat.NDJSON);
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(BulkImportResponse.RowError::getMessage)
+                .containsExactly("Unparseable row", "passwordHash is not a BCrypt hash");
+        assertThat(jdbc.queryForObject("SELECT password FROM user", String.class)).isEqualTo(hash);
+        // a migrated hash has no plain text to screen
+        verify(breachedPasswordService, never()).isBreached(anyString());
+    }
+
+    @Test
+    void exportStreamsEveryUserWithoutHashes() throws IOException {
+        service(false, false).importUsers(csv(
+                "email,firstName,lastName,phoneNumber,city,password",
+                "a@example.com,Asha,Rao,9876543210,Pune,correct horse",
+                "b@example.com,Bala,Rao,9876543211,Delhi,correct horse"
+        ), BulkFormat.CSV);
+
+        List<BulkUserRow> rows = export(service(false, false), false);
+
+        assertThat(rows).extracting(BulkUserRow::getEmail).containsExactly("a@example.com", "b@example.com");
+        assertThat(rows).extracting(BulkUserRow::getPasswordHash).containsOnlyNulls();
+        assertThat(rows).extracting(BulkUserRow::getPassword).containsOnlyNulls();
+    }
+
+    @Test
+    void passwordHashExportIsGated() throws IOException {
+        service(false, false).importUsers(csv(
+                "email,firstName,lastName,phoneNumber,city,password",
+                "a@example.com,Asha,Rao,9876543210,Pune,correct horse"
+        ), BulkFormat.CSV);
+
+        assertThatThrownBy(() -> export(service(false, false), true))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("bulk.export.password-hash.enabled");
+
+        List<BulkUserRow> rows = export(service(false, true), true);
+        assertThat(passwordEncoder.matches("correct horse", rows.get(0).getPasswordHash())).isTrue();
+    }
+
+    @Test
+    void shardedDeploymentsRefuseBulkWork() {
+        BulkUserServiceImpl sharded = service(true, true);
+
+        assertThatThrownBy(() -> sharded.importUsers(csv("email"), BulkFormat.CSV))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> export(sharded, false))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private BulkUserServiceImpl service(boolean sharded, boolean passwordHashExport) {
+        BulkUserServiceImpl service = new BulkUserServiceImpl(
+                dataSource,
+                new DataSourceTransactionManager(dataSource),
+                passwordEncoder,
+                new ObjectMapper(),
+                uniquenessService,
+                breachedPasswordService,
+                mock(UserStatisticsService.class),
+                3,
+                2,
+                100,
+                sharded,
+                passwordHashExport
+        );
+        services.add(service);
+        return service;
+    }
+
+    private static List<BulkUserRow> export(BulkUserServiceImpl service, boolean includePasswordHash) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportUsers(out, includePasswordHash);
+        ObjectMapper mapper = new ObjectMapper();
+        List<BulkUserRow> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(mapper.readValue(line, BulkUserRow.class));
+            }
+        }
+        return rows;
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return csv(lines);
+    }
+
+    private static DataSource database() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER", "sa", "");
+        new JdbcTemplate(dataSource).execute("""
+            CREATE TABLE user (
+                id                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email                 VARCHAR(255) NOT NULL UNIQUE,
+                email_canonical       VARCHAR(255) UNIQUE,
+                first_name            VARCHAR(255) NOT NULL,
+                last_name             VARCHAR(255) NOT NULL,
+                phone_number          VARCHAR(255) NOT NULL UNIQUE,
+                phone_e164            VARCHAR(20)  UNIQUE,
+                city                  VARCHAR(255) NOT NULL,
+                password              VARCHAR(255) NOT NULL,
+                email_verified        BOOLEAN      NOT NULL,
+                phone_number_verified BOOLEAN      NOT NULL,
+                role                  VARCHAR(16)  NOT NULL DEFAULT 'USER',
+                created_at            TIMESTAMP(6) NOT NULL,
+                updated_at            TIMESTAMP(6),
+                version               BIGINT       NOT NULL DEFAULT 0,
+                shard_bucket          INTEGER
+            )
+        """);
+        return dataSource;
+    }
+}
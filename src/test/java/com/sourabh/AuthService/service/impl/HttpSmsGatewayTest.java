@@ -0,0 +1,74 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.service.contract.SmsGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpSmsGatewayTest {
+
+    private LocalSmsStubServer stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new LocalSmsStubServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void postsTheBatchAsJson() throws IOException {
+        gateway("").send(List.of(
+                new SmsGateway.Message("+919876543210", "Your OTP: 123456"),
+                new SmsGateway.Message("+919876543211", "Your OTP: 654321")
+        ));
+
+        assertThat(stub.received()).containsExactly(
+                "{\"messages\":[{\"to\":\"+919876543210\",\"text\":\"Your OTP: 123456\"},"
+                        + "{\"to\":\"+919876543211\",\"text\":\"Your OTP: 654321\"}]}"
+        );
+        assertThat(stub.authorizations()).containsExactly((String) null);
+    }
+
+    @Test
+    void sendsTheApiKeyAsBearerToken() throws IOException {
+        gateway("secret").send(List.of(new SmsGateway.Message("+919876543210", "hi")));
+
+        assertThat(stub.authorizations()).containsExactly("Bearer secret");
+    }
+
+    @Test
+    void nonSuccessStatusIsAFailure() {
+        stub.respondWith(503);
+
+        assertThatThrownBy(() -> gateway("").send(List.of(new SmsGateway.Message("+919876543210", "hi"))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("HTTP 503");
+    }
+
+    @Test
+    void slowProviderTimesOut() {
+        stub.delay(1_000);
+
+        assertThatThrownBy(() -> gateway("", 200).send(List.of(new SmsGateway.Message("+919876543210", "hi"))))
+                .isInstanceOf(IOException.class);
+    }
+
+    private HttpSmsGateway gateway(String apiKey) {
+        return gateway(apiKey, 2_000);
+    }
+
+    private HttpSmsGateway gateway(String apiKey, long timeoutMs) {
+        return new HttpSmsGateway(new ObjectMapper(), "stub", stub.url(), apiKey, timeoutMs);
+    }
+}
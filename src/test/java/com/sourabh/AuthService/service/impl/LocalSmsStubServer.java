@@ -0,0 +1,84 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for an HTTP SMS provider: accepts POST /sms, records the
+ * bodies and Authorization headers, and can be told to fail or stall so
+ * retries, timeouts and the circuit breaker can be exercised.
+ */
+final class LocalSmsStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<String> received = new ArrayList<>();
+    private final List<String> authorizations = new ArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile int status = 202;
+    private volatile long latencyMs;
+
+    LocalSmsStubServer() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/sms", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                String payload = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                requests.incrementAndGet();
+
+                if (latencyMs > 0) {
+                    Thread.sleep(latencyMs);
+                }
+
+                if (status / 100 == 2) {
+                    synchronized (this) {
+                        received.add(payload);
+                        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+                    }
+                }
+                exchange.sendResponseHeaders(status, -1);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        this.server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/sms";
+    }
+
+    void respondWith(int status) {
+        this.status = status;
+    }
+
+    void delay(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    int requests() {
+        return requests.get();
+    }
+
+    synchronized List<String> received() {
+        return new ArrayList<>(received);
+    }
+
+    synchronized List<String> authorizations() {
+        return new ArrayList<>(authorizations);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
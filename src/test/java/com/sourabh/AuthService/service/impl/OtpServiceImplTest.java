@@ -0,0 +1,340 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ReadYourWrites;
+import com.sourabh.AuthService.dto.request.VerifyAccountRequest;
+import com.sourabh.AuthService.dto.response.UserStatisticsResponse.OtpVerifications;
+import com.sourabh.AuthService.entity.Otp;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.enums.OtpType;
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.repository.OtpRepository;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.service.contract.EmailService;
+import com.sourabh.AuthService.service.contract.SmsService;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.service.contract.VerificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OtpServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String PHONE = "+15550000001";
+    private static final String SLOT = "EMAIL_VERIFICATION:" + EMAIL;
+
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate caller;
+    private final EmailService emailService = mock(EmailService.class);
+    private final UserStatisticsServiceImpl statistics;
+    private final OtpServiceImpl otpService;
+    private final VerificationService verification;
+
+    OtpServiceImplTest() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:otp-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;LOCK_TIMEOUT=10000;NON_KEYWORDS=USER", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+            CREATE TABLE otp (
+                id          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email       VARCHAR(255),
+                phone       VARCHAR(255),
+                otp_hash    VARCHAR(255) NOT NULL,
+                active_slot VARCHAR(300),
+                type        VARCHAR(32)  NOT NULL,
+                expiry      TIMESTAMP(6) NOT NULL,
+                verified    BOOLEAN      NOT NULL,
+                attempts    INTEGER      NOT NULL,
+                created_at  TIMESTAMP(6) NOT NULL,
+                CONSTRAINT ux_otp_active_slot UNIQUE (active_slot)
+            )
+        """);
+        // only what the statistics aggregate reads
+        jdbc.execute("""
+            CREATE TABLE user (
+                email_verified        BOOLEAN      NOT NULL,
+                phone_number_verified BOOLEAN      NOT NULL,
+                created_at            TIMESTAMP(6) NOT NULL
+            )
+        """);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Otp.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()
+        ));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        JpaRepositoryFactory repositories =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        // what the repository factory bean adds in the application: exception translation, @Transactional
+        repositories.addRepositoryProxyPostProcessor((proxy, information) -> {
+            proxy.addAdvice(new PersistenceExceptionTranslationInterceptor(new HibernateJpaDialect()));
+            proxy.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        });
+
+        caller = new TransactionTemplate(transactionManager);
+        statistics = new UserStatisticsServiceImpl(
+                dataSource, mock(ObjectProvider.class), transactionManager, new SimpleMeterRegistry(), 30, 300);
+        otpService = new OtpServiceImpl(
+                repositories.getRepository(OtpRepository.class),
+                new BCryptPasswordEncoder(4),
+                emailService,
+                mock(SmsService.class),
+                statistics,
+                transactionManager
+        );
+
+        UserRepository users = mock(UserRepository.class);
+        when(users.findByEmailCanonical(EMAIL)).thenReturn(Optional.of(User.builder().email(EMAIL).phoneNumber(PHONE).build()));
+        // with its @Transactional(noRollbackFor = BadRequestException.class), as in the application
+        ProxyFactory verificationProxy = new ProxyFactory(new VerificationServiceImpl(
+                users, otpService, mock(UserEventPublisher.class), statistics, new ReadYourWrites(5_000)));
+        verificationProxy.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        verification = (VerificationService) verificationProxy.getProxy();
+    }
+
+    @AfterEach
+    void close() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void issuedCodeIsCommittedAtOnceButSentOnlyAfterTheCallerCommits() {
+        caller.executeWithoutResult(status -> {
+            otpService.generateEmailOtp(EMAIL, OtpType.EMAIL_VERIFICATION);
+
+            // visible to other connections, so other requests on any instance see the claim
+            assertThat(activeSlots()).containsExactly(SLOT);
+            verify(emailService, never()).sendOtp(anyString(), anyString());
+        });
+
+        verify(emailService).sendOtp(eq(EMAIL), anyString());
+    }
+
+    @Test
+    void callerRollbackWithdrawsTheCode() {
+        caller.executeWithoutResult(status -> {
+            otpService.generateEmailOtp(EMAIL, OtpType.EMAIL_VERIFICATION);
+            status.setRollbackOnly();
+        });
+
+        verify(emailService, never()).sendOtp(anyString(), anyString());
+        assertThat(activeSlots()).isEmpty();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM otp WHERE expiry > ?", Long.class, LocalDateTime.now()))
+                .isZero();
+
+        // no cooldown left behind: the retry gets a code straight away
+        otpService.generateEmailOtp(EMAIL, OtpType.EMAIL_VERIFICATION);
+        assertThat(activeSlots()).containsExactly(SLOT);
+    }
+
+    @Test
+    void losingTheSlotRaceLeavesTheCallersTransactionUsable() {
+        // another instance holds the slot; its row is not visible to this instance's cooldown check yet
+        jdbc.update("""
+            INSERT INTO otp (phone, otp_hash, active_slot, type, expiry, verified, attempts, created_at)
+            VALUES ('elsewhere', 'x', ?, 'EMAIL_VERIFICATION', ?, false, 0, ?)
+        """, SLOT, LocalDateTime.now().plusMinutes(5), LocalDateTime.now());
+
+        Boolean rollbackOnly = caller.execute(status -> {
+            assertThatThrownBy(() -> otpService.generateEmailOtp(EMAIL, OtpType.EMAIL_VERIFICATION))
+                    .isSameAs(BadRequestException.OTP_COOLDOWN);
+            return status.isRollbackOnly();
+        });
+
+        assertThat(rollbackOnly).isFalse();
+        verify(emailService, never()).sendOtp(anyString(), anyString());
+    }
+
+    @Test
+    void concurrentRequestsForOneTargetIssueOneCode() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < 16; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    caller.executeWithoutResult(status -> otpService.generateEmailOtp(EMAIL, OtpType.EMAIL_VERIFICATION));
+                    return true;
+                } catch (BadRequestException ex) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int issued = 0;
+        for (Future<Boolean> result : results) {
+            issued += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertThat(issued).isOne();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM otp", Long.class)).isOne();
+        verify(emailService, times(1)).sendOtp(anyString(), anyString());
+    }
+
+    @Test
+    void wrongCodeCountsEvenWhenTheCallerRollsBack() {
+        insertOtp(EMAIL, null, OtpType.FORGOT_PASSWORD, "111111");
+
+        // like resetPassword, which rolls back on OTP_INVALID
+        assertThatThrownBy(() -> caller.executeWithoutResult(status ->
+                otpService.verifyEmailOtp(EMAIL, "000000", OtpType.FORGOT_PASSWORD)
+        )).isSameAs(BadRequestException.OTP_INVALID);
+
+        assertThat(jdbc.queryForObject("SELECT attempts FROM otp", Integer.class)).isOne();
+        assertThat(statistics.snapshot().getOtpVerifications().get(OtpType.FORGOT_PASSWORD))
+                .isEqualTo(new OtpVerifications(0, 1, 0));
+    }
+
+    @Test
+    void liveOtpCountersMatchTheReconciledOnes() {
+        insertOtp(EMAIL, null, OtpType.FORGOT_PASSWORD, "111111");
+        insertOtp(EMAIL, null, OtpType.EMAIL_VERIFICATION, "222222");
+        insertOtp(null, PHONE, OtpType.PHONE_VERIFICATION, "333333");
+
+        assertThatThrownBy(() -> caller.executeWithoutResult(status ->
+                otpService.verifyEmailOtp(EMAIL, "000000", OtpType.FORGOT_PASSWORD)
+        )).isSameAs(BadRequestException.OTP_INVALID);
+        caller.executeWithoutResult(status -> otpService.verifyEmailOtp(EMAIL, "111111", OtpType.FORGOT_PASSWORD));
+
+        // right email code, wrong phone code; committed like verifyAccount does
+        caller.executeWithoutResult(status ->
+                assertThatThrownBy(() -> otpService.verifyAccountOtps(EMAIL, "222222", PHONE, "000000"))
+                        .isSameAs(BadRequestException.OTP_INVALID));
+
+        Map<OtpType, OtpVerifications> live = statistics.snapshot().getOtpVerifications();
+        assertThat(live.get(OtpType.FORGOT_PASSWORD)).isEqualTo(new OtpVerifications(1, 1, 0.5));
+        assertThat(live.get(OtpType.EMAIL_VERIFICATION)).isEqualTo(new OtpVerifications(0, 0, 0));
+        assertThat(live.get(OtpType.PHONE_VERIFICATION)).isEqualTo(new OtpVerifications(0, 1, 0));
+
+        statistics.reconcile();
+
+        assertThat(statistics.snapshot().getOtpVerifications()).isEqualTo(live);
+    }
+
+    @Test
+    void rightCodesConsumeBothAccountOtpsTogether() {
+        insertAccountOtps();
+
+        verification.verifyAccount(accountRequest("222222", "333333"));
+
+        assertThat(jdbc.queryForList("SELECT verified FROM otp", Boolean.class)).containsOnly(true);
+        // consumed: the same codes cannot verify again
+        assertThatThrownBy(() -> verification.verifyAccount(accountRequest("222222", "333333")))
+                .isSameAs(BadRequestException.OTP_EXPIRED);
+    }
+
+    @Test
+    void oneWrongCodeConsumesNeitherAndCountsOnlyItsOwnAttempt() {
+        insertAccountOtps();
+
+        assertThatThrownBy(() -> verification.verifyAccount(accountRequest("222222", "000000")))
+                .isSameAs(BadRequestException.OTP_INVALID);
+
+        // committed despite the exception (noRollbackFor)
+        assertThat(verifiedAndAttempts(OtpType.EMAIL_VERIFICATION)).isEqualTo(List.of(false, 0));
+        assertThat(verifiedAndAttempts(OtpType.PHONE_VERIFICATION)).isEqualTo(List.of(false, 1));
+
+        verification.verifyAccount(accountRequest("222222", "333333"));
+        assertThat(verifiedAndAttempts(OtpType.EMAIL_VERIFICATION)).isEqualTo(List.of(true, 0));
+        assertThat(verifiedAndAttempts(OtpType.PHONE_VERIFICATION)).isEqualTo(List.of(true, 1));
+    }
+
+    @Test
+    void accountOtpsLockAfterTooManyWrongCodes() {
+        insertAccountOtps();
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> verification.verifyAccount(accountRequest("000000", "333333")))
+                    .isSameAs(BadRequestException.OTP_INVALID);
+        }
+
+        assertThatThrownBy(() -> verification.verifyAccount(accountRequest("222222", "333333")))
+                .isSameAs(BadRequestException.OTP_ATTEMPTS_EXCEEDED);
+        assertThat(verifiedAndAttempts(OtpType.EMAIL_VERIFICATION)).isEqualTo(List.of(false, 5));
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private void insertAccountOtps() {
+        insertOtp(EMAIL, null, OtpType.EMAIL_VERIFICATION, "222222");
+        insertOtp(null, PHONE, OtpType.PHONE_VERIFICATION, "333333");
+    }
+
+    private static VerifyAccountRequest accountRequest(String emailOtp, String phoneOtp) {
+        VerifyAccountRequest request = new VerifyAccountRequest();
+        request.setEmail(EMAIL);
+        request.setPhoneNumber(PHONE);
+        request.setEmailOtp(emailOtp);
+        request.setPhoneOtp(phoneOtp);
+        return request;
+    }
+
+    private List<Object> verifiedAndAttempts(OtpType type) {
+        return jdbc.queryForObject("SELECT verified, attempts FROM otp WHERE type = ?",
+                (rs, i) -> List.of(rs.getBoolean(1), rs.getInt(2)), type.name());
+    }
+
+    private void insertOtp(String email, String phone, OtpType type, String code) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.update("""
+            INSERT INTO otp (email, phone, otp_hash, type, expiry, verified, attempts, created_at)
+            VALUES (?, ?, ?, ?, ?, false, 0, ?)
+        """, email, phone, new BCryptPasswordEncoder(4).encode(code), type.name(), now.plusMinutes(5), now);
+    }
+
+    private List<String> activeSlots() {
+        return jdbc.queryForList("SELECT active_slot FROM otp WHERE active_slot IS NOT NULL", String.class);
+    }
+}
@@ -0,0 +1,179 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sourabh.AuthService.config.ReadYourWrites;
+import com.sourabh.AuthService.dto.request.UpdateUserRequest;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.exceptions.GlobalExceptionHandler;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.repository.UserSearchRepository;
+import com.sourabh.AuthService.service.contract.ProfileService;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ProfileServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository users;
+    private final ProfileService profiles;
+
+    ProfileServiceImplTest() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:profile-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+            CREATE TABLE user (
+                id                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email                 VARCHAR(255) NOT NULL UNIQUE,
+                email_canonical       VARCHAR(255) UNIQUE,
+                first_name            VARCHAR(255) NOT NULL,
+                last_name             VARCHAR(255) NOT NULL,
+                phone_number          VARCHAR(255) NOT NULL UNIQUE,
+                phone_e164            VARCHAR(20)  UNIQUE,
+                city                  VARCHAR(255) NOT NULL,
+                password              VARCHAR(255) NOT NULL,
+                email_verified        BOOLEAN      NOT NULL,
+                phone_number_verified BOOLEAN      NOT NULL,
+                role                  VARCHAR(16)  NOT NULL DEFAULT 'USER',
+                created_at            TIMESTAMP(6) NOT NULL,
+                updated_at            TIMESTAMP(6),
+                version               BIGINT       NOT NULL DEFAULT 0,
+                shard_bucket          INTEGER
+            )
+        """);
+        jdbc.update("""
+            INSERT INTO user (email, email_canonical, first_name, last_name, phone_number, phone_e164,
+                              city, password, email_verified, phone_number_verified, created_at)
+            VALUES (?, ?, 'Test', 'User', '+15550000001', '+15550000001', 'Mumbai', 'hash', true, true, ?)
+        """, EMAIL, EMAIL, LocalDateTime.now());
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(User.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName(),
+                "hibernate.session_factory.statement_inspector", (StatementInspector) sql -> {
+                    statements.add(sql);
+                    return sql;
+                }
+        ));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        TransactionInterceptor transactions =
+                new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource());
+        JpaRepositoryFactory repositories =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        repositories.addRepositoryProxyPostProcessor((proxy, information) -> {
+            proxy.addAdvice(new PersistenceExceptionTranslationInterceptor(new HibernateJpaDialect()));
+            proxy.addAdvice(transactions);
+        });
+        users = repositories.getRepository(UserRepository.class, RepositoryFragments.just(mock(UserSearchRepository.class)));
+
+        ProxyFactory profileProxy = new ProxyFactory(new ProfileServiceImpl(
+                users,
+                mock(OtpServiceImpl.class),
+                mock(UniquenessService.class),
+                mock(UserEventPublisher.class),
+                mock(UserStatisticsService.class),
+                new ReadYourWrites(5_000)
+        ));
+        profileProxy.addAdvice(transactions);
+        profiles = (ProfileService) profileProxy.getProxy();
+    }
+
+    @AfterEach
+    void close() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    void updateWritesOnlyTheChangedColumns() {
+        User user = load();
+        statements.clear();
+
+        profiles.updateProfile(user, request(null, "Pune"));
+
+        String update = statements.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(update).contains("city=?", "version=?", "updated_at=?");
+        assertThat(update).doesNotContain("first_name", "email", "password", "phone_number");
+        assertThat(jdbc.queryForObject("SELECT version FROM user", Long.class)).isOne();
+    }
+
+    @Test
+    void staleConcurrentUpdateIsRejectedWithAConflict() {
+        // two devices load the profile before either saves
+        User phone = load();
+        User laptop = load();
+
+        profiles.updateProfile(phone, request(null, "Pune"));
+
+        assertThatThrownBy(() -> profiles.updateProfile(laptop, request("Other", null)))
+                .isInstanceOfSatisfying(OptimisticLockingFailureException.class, ex -> assertThat(
+                        new GlobalExceptionHandler(new ObjectMapper()).handleConcurrentUpdate(ex).getStatusCode().value()
+                ).isEqualTo(409));
+
+        // the first write survives, nothing of the stale one does
+        assertThat(jdbc.queryForMap("SELECT first_name, city, version FROM user"))
+                .containsEntry("FIRST_NAME", "Test")
+                .containsEntry("CITY", "Pune")
+                .containsEntry("VERSION", 1L);
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    // detached, like the principal JwtFilter hands to the controller
+    private User load() {
+        return users.findByEmailCanonical(EMAIL).orElseThrow();
+    }
+
+    private static UpdateUserRequest request(String firstName, String city) {
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setFirstName(firstName);
+        request.setCity(city);
+        return request;
+    }
+}
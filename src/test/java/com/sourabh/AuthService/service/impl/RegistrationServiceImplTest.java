@@ -0,0 +1,122 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ReadYourWrites;
+import com.sourabh.AuthService.dto.request.SignupRequest;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.service.contract.BreachedPasswordService;
+import com.sourabh.AuthService.service.contract.UniquenessService;
+import com.sourabh.AuthService.service.contract.UserEventPublisher;
+import com.sourabh.AuthService.service.contract.UserStatisticsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationServiceImplTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UniquenessService uniquenessService = mock(UniquenessService.class);
+    private final RegistrationServiceImpl registration = new RegistrationServiceImpl(
+            userRepository,
+            passwordEncoder,
+            mock(OtpServiceImpl.class),
+            uniquenessService,
+            mock(BreachedPasswordService.class),
+            mock(UserEventPublisher.class),
+            mock(UserStatisticsService.class),
+            new ReadYourWrites(5_000)
+    );
+
+    @Test
+    void failedCheckReturnsWithoutWaitingForTheOtherSteps() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch hashed = new CountDownLatch(1);
+        when(uniquenessService.isEmailTaken(anyString())).thenReturn(true);
+        when(uniquenessService.isPhoneTaken(anyString())).thenAnswer(invocation -> release.await(10, TimeUnit.SECONDS));
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            hashed.countDown();
+            return "hash";
+        });
+
+        // the phone check and the hash are still blocked when signup gives up
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThatThrownBy(() -> registration.signup(request()))
+                        .isInstanceOf(BadRequestException.class)
+                        .hasMessage("Email already registered"));
+
+        // the running hash is not interrupted; it finishes and its result is dropped
+        release.countDown();
+        assertThat(hashed.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void failureIsRethrownUnwrapped() {
+        IllegalStateException failure = new IllegalStateException("encoder down");
+        when(passwordEncoder.encode(anyString())).thenThrow(failure);
+
+        assertThatThrownBy(() -> registration.signup(request())).isSameAs(failure);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void emailIsReportedFirstWhenBothAreTaken() {
+        when(uniquenessService.isEmailTaken(anyString())).thenReturn(true);
+        when(uniquenessService.isPhoneTaken(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        assertThatThrownBy(() -> registration.signup(request())).hasMessage("Email already registered");
+    }
+
+    @Test
+    void checksRunOutsideTheCallersTransaction() {
+        AtomicReference<Boolean> inTransaction = new AtomicReference<>();
+        when(uniquenessService.isEmailTaken(anyString())).thenAnswer(invocation -> {
+            inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return false;
+        });
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            registration.signup(request());
+        } finally {
+            TransactionSynchronizationManager.clear();
+        }
+
+        assertThat(inTransaction.get()).isFalse();
+        verify(userRepository).save(any(User.class));
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static SignupRequest request() {
+        SignupRequest request = new SignupRequest();
+        request.setEmail("user@example.com");
+        request.setFirstName("Test");
+        request.setLastName("User");
+        request.setPhoneNumber("9876543210");
+        request.setCity("Pune");
+        request.setPassword("correct horse battery");
+        request.setConfirmPassword("correct horse battery");
+        return request;
+    }
+}
@@ -0,0 +1,86 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Dispatcher + HTTP gateway against the local stub provider.
+ */
+class SmsServiceImplTest {
+
+    private LocalSmsStubServer stub;
+    private SimpleMeterRegistry meterRegistry;
+    private SmsServiceImpl smsService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new LocalSmsStubServer();
+        meterRegistry = new SimpleMeterRegistry();
+        HttpSmsGateway gateway = new HttpSmsGateway(new ObjectMapper(), "stub", stub.url(), "", 1_000);
+        smsService = new SmsServiceImpl(gateway, meterRegistry,
+                100, 1, 10, 5, 3, 10, 20, 3, 60_000);
+        smsService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        smsService.stop();
+        stub.close();
+    }
+
+    @Test
+    void deliversQueuedMessages() {
+        smsService.sendOtp("+919876543210", "123456");
+
+        await().until(() -> stub.received().size() == 1);
+        assertThat(stub.received().get(0)).contains("+919876543210", "123456");
+        await().until(() -> messages("sent") == 1);
+    }
+
+    @Test
+    void retriesThenGivesUp() {
+        stub.respondWith(500);
+
+        smsService.sendOtp("+919876543210", "123456");
+
+        await().until(() -> messages("failed") == 1);
+        assertThat(stub.requests()).isEqualTo(3);
+    }
+
+    @Test
+    void onlySendsOnceTheTransactionCommits() {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(
+                new DriverManagerDataSource("jdbc:h2:mem:sms-" + UUID.randomUUID(), "sa", "")));
+
+        transaction.executeWithoutResult(status -> {
+            smsService.sendOtp("+919876543210", "111111");
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> {
+            smsService.sendOtp("+919876543211", "222222");
+            assertThat(stub.requests()).isZero();
+        });
+
+        await().until(() -> stub.received().size() == 1);
+        assertThat(stub.received().get(0)).contains("222222").doesNotContain("111111");
+    }
+
+    private double messages(String result) {
+        return meterRegistry.get("sms.dispatch.messages")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,202 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ReadYourWrites;
+import com.sourabh.AuthService.config.ReplicaRoutingDataSource;
+import com.sourabh.AuthService.dto.projection.UserAuthView;
+import com.sourabh.AuthService.entity.User;
+import com.sourabh.AuthService.repository.UserRepository;
+import com.sourabh.AuthService.repository.UserSearchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A primary and a replica on H2 hold the same account with a different city,
+ * so the city a lookup returns shows where it was routed.
+ */
+class UserLookupServiceImplTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String PHONE = "+15550000001";
+
+    private final ReplicaRoutingDataSource routing;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transaction;
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(60_000);
+    private final UserLookupServiceImpl lookups;
+
+    UserLookupServiceImplTest() {
+        routing = new ReplicaRoutingDataSource(database("primary"), List.of(database("replica")), 60_000);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(User.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()
+        ));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        JpaRepositoryFactory repositories =
+                new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        // the @Transactional(readOnly = true) on the repository is what sends a lookup to a replica
+        repositories.addRepositoryProxyPostProcessor((proxy, information) ->
+                proxy.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource())));
+        UserRepository users = repositories.getRepository(
+                UserRepository.class, RepositoryFragments.just(mock(UserSearchRepository.class)));
+
+        transaction = new TransactionTemplate(transactionManager);
+        lookups = new UserLookupServiceImpl(users, readYourWrites, new SimpleMeterRegistry(), 2_000);
+    }
+
+    @AfterEach
+    void close() {
+        entityManagerFactory.close();
+        routing.close();
+    }
+
+    @Test
+    void loginAndTokenLookupsGoToAReplica() {
+        assertThat(lookups.findAuthViewByEmail(EMAIL)).get().extracting(UserAuthView::city).isEqualTo("replica");
+        assertThat(lookups.findAuthViewByPhoneNumber(PHONE)).get().extracting(UserAuthView::city).isEqualTo("replica");
+        assertThat(lookups.findByEmail(" User@Example.com ")).get().extracting(User::getCity).isEqualTo("replica");
+    }
+
+    @Test
+    void recentlyWrittenAccountIsReadFromThePrimary() {
+        transaction.executeWithoutResult(status -> readYourWrites.wrote(EMAIL));
+
+        assertThat(lookups.findAuthViewByEmail(EMAIL)).get().extracting(UserAuthView::city).isEqualTo("primary");
+        assertThat(lookups.findByEmail(EMAIL)).get().extracting(User::getCity).isEqualTo("primary");
+        // only the key that was written is pinned
+        assertThat(lookups.findAuthViewByPhoneNumber(PHONE)).get().extracting(UserAuthView::city).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPin() {
+        transaction.executeWithoutResult(status -> {
+            readYourWrites.wrote(EMAIL, PHONE);
+            status.setRollbackOnly();
+        });
+
+        assertThat(lookups.findAuthViewByEmail(EMAIL)).get().extracting(UserAuthView::city).isEqualTo("replica");
+    }
+
+    @Test
+    void pinExpiresAfterTheWindow() throws Exception {
+        ReadYourWrites shortWindow = new ReadYourWrites(50);
+        shortWindow.wrote(EMAIL);
+
+        assertThat(shortWindow.isRecent(EMAIL)).isTrue();
+        Thread.sleep(100);
+        assertThat(shortWindow.isRecent(EMAIL)).isFalse();
+    }
+
+    @Test
+    void coalescedCallersGetTheirOwnCopyOfTheUser() throws Exception {
+        UserRepository users = mock(UserRepository.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserLookupServiceImpl coalescing = new UserLookupServiceImpl(users, readYourWrites, registry, 10_000);
+        CountDownLatch release = new CountDownLatch(1);
+        User shared = User.builder().email(EMAIL).city("Pune").build();
+        when(users.findByEmailCanonical(EMAIL)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(shared);
+        });
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Optional<User>> first = callers.submit(() -> coalescing.findByEmail(EMAIL));
+            Future<Optional<User>> second = callers.submit(() -> coalescing.findByEmail(EMAIL));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (registry.get("singleflight.calls").tag("outcome", "coalesced").counter().count() < 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            User mine = first.get(5, TimeUnit.SECONDS).orElseThrow();
+            User theirs = second.get(5, TimeUnit.SECONDS).orElseThrow();
+            mine.setCity("Delhi");
+
+            assertThat(mine).isNotSameAs(theirs).isNotSameAs(shared);
+            assertThat(theirs.getCity()).isEqualTo("Pune");
+            assertThat(shared.getCity()).isEqualTo("Pune");
+            verify(users, times(1)).findByEmailCanonical(EMAIL);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static DataSource database(String city) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + city + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("""
+            CREATE TABLE user (
+                id                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email                 VARCHAR(255) NOT NULL UNIQUE,
+                email_canonical       VARCHAR(255) UNIQUE,
+                first_name            VARCHAR(255) NOT NULL,
+                last_name             VARCHAR(255) NOT NULL,
+                phone_number          VARCHAR(255) NOT NULL UNIQUE,
+                phone_e164            VARCHAR(20)  UNIQUE,
+                city                  VARCHAR(255) NOT NULL,
+                password              VARCHAR(255) NOT NULL,
+                email_verified        BOOLEAN      NOT NULL,
+                phone_number_verified BOOLEAN      NOT NULL,
+                role                  VARCHAR(16)  NOT NULL DEFAULT 'USER',
+                created_at            TIMESTAMP(6) NOT NULL,
+                updated_at            TIMESTAMP(6),
+                version               BIGINT       NOT NULL DEFAULT 0,
+                shard_bucket          INTEGER
+            )
+        """);
+        jdbc.update("""
+            INSERT INTO user (email, email_canonical, first_name, last_name, phone_number, phone_e164,
+                              city, password, email_verified, phone_number_verified, created_at)
+            VALUES (?, ?, 'Test', 'User', ?, ?, ?, 'hash', true, true, ?)
+        """, EMAIL, EMAIL, PHONE, PHONE, city, LocalDateTime.now());
+        return dataSource;
+    }
+}
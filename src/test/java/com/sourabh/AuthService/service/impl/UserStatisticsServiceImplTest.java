@@ -0,0 +1,170 @@
+package com.sourabh.AuthService.service.impl;
+
+import com.sourabh.AuthService.config.ShardManager;
+import com.sourabh.AuthService.dto.response.UserStatisticsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserStatisticsServiceImplTest {
+
+    private static final int DAYS = 7;
+
+    private final DataSource dataSource = database();
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    private final UserStatisticsServiceImpl statistics = statistics(dataSource, null);
+
+    @Test
+    void liveCountersFollowSignupsAndVerifications() {
+        statistics.userCreated(false);
+        statistics.userCreated(false);
+        statistics.userCreated(true);
+        statistics.userVerified();
+        statistics.userVerified();
+        statistics.userUnverified();
+
+        UserStatisticsResponse snapshot = statistics.snapshot();
+        assertThat(snapshot.getTotalUsers()).isEqualTo(3);
+        assertThat(snapshot.getVerifiedUsers()).isEqualTo(2);
+        assertThat(snapshot.getSignupsPerDay()).hasSize(DAYS).containsEntry(LocalDate.now(), 3L);
+        assertThat(snapshot.getReconciledAt()).isNull();
+    }
+
+    @Test
+    void rolledBackWorkIsNotCounted() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            statistics.userCreated(true);
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> statistics.userCreated(false));
+
+        assertThat(statistics.snapshot().getTotalUsers()).isEqualTo(1);
+        assertThat(statistics.snapshot().getVerifiedUsers()).isZero();
+    }
+
+    @Test
+    void reconcileAgreesWithLiveCountersForTheSameWrites() {
+        // what signup and verify write, next to what they record
+        insertUser(false, LocalDateTime.now());
+        statistics.userCreated(false);
+        insertUser(false, LocalDateTime.now());
+        statistics.userCreated(false);
+        jdbc.update("UPDATE user SET email_verified = true, phone_number_verified = true WHERE id = 1");
+        statistics.userVerified();
+
+        UserStatisticsResponse live = statistics.snapshot();
+        statistics.reconcile();
+        UserStatisticsResponse reconciled = statistics.snapshot();
+
+        assertThat(reconciled.getReconciledAt()).isNotNull();
+        assertThat(reconciled.getTotalUsers()).isEqualTo(live.getTotalUsers()).isEqualTo(2);
+        assertThat(reconciled.getVerifiedUsers()).isEqualTo(live.getVerifiedUsers()).isEqualTo(1);
+        assertThat(reconciled.getSignupsPerDay()).isEqualTo(live.getSignupsPerDay());
+        assertThat(reconciled.getOtpVerifications()).isEqualTo(live.getOtpVerifications());
+    }
+
+    @Test
+    void reconcileReplacesDriftedCountersAndBackfillsDays() {
+        LocalDate today = LocalDate.now();
+        insertUser(true, LocalDateTime.now());
+        insertUser(false, today.minusDays(2).atTime(9, 0));
+        insertUser(false, today.minusDays(DAYS).atTime(9, 0));
+        // counted by this instance but never committed elsewhere, or lost to a restart
+        for (int i = 0; i < 5; i++) {
+            statistics.userCreated(true);
+        }
+
+        statistics.reconcile();
+
+        UserStatisticsResponse snapshot = statistics.snapshot();
+        assertThat(snapshot.getTotalUsers()).isEqualTo(3);
+        assertThat(snapshot.getVerifiedUsers()).isEqualTo(1);
+        assertThat(snapshot.getSignupsPerDay())
+                .containsEntry(today, 1L)
+                .containsEntry(today.minusDays(1), 0L)
+                .containsEntry(today.minusDays(2), 1L)
+                .doesNotContainKey(today.minusDays(DAYS));
+
+        // live counting carries on from the reconciled values
+        statistics.userCreated(false);
+        assertThat(statistics.snapshot().getTotalUsers()).isEqualTo(4);
+        assertThat(statistics.snapshot().getSignupsPerDay()).containsEntry(today, 2L);
+    }
+
+    @Test
+    void reconcileAddsUpEveryShard() {
+        DataSource other = database();
+        insertUser(true, LocalDateTime.now());
+        new JdbcTemplate(other).update(INSERT_USER, false, false, LocalDateTime.now());
+        new JdbcTemplate(other).update(INSERT_USER, true, true, LocalDateTime.now());
+
+        ShardManager shards = mock(ShardManager.class);
+        when(shards.shardCount()).thenReturn(2);
+        when(shards.shard(0)).thenReturn(jdbc);
+        when(shards.shard(1)).thenReturn(new JdbcTemplate(other));
+        UserStatisticsServiceImpl sharded = statistics(dataSource, shards);
+
+        sharded.reconcile();
+
+        assertThat(sharded.snapshot().getTotalUsers()).isEqualTo(3);
+        assertThat(sharded.snapshot().getVerifiedUsers()).isEqualTo(2);
+        assertThat(sharded.snapshot().getSignupsPerDay()).containsEntry(LocalDate.now(), 3L);
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private static final String INSERT_USER = """
+        INSERT INTO user (email_verified, phone_number_verified, created_at) VALUES (?, ?, ?)
+    """;
+
+    private void insertUser(boolean verified, LocalDateTime createdAt) {
+        jdbc.update(INSERT_USER, verified, verified, createdAt);
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserStatisticsServiceImpl statistics(DataSource dataSource, ShardManager shards) {
+        ObjectProvider<ShardManager> shardManager = mock(ObjectProvider.class);
+        when(shardManager.getIfAvailable()).thenReturn(shards);
+        return new UserStatisticsServiceImpl(
+                dataSource, shardManager, transactionManager, new SimpleMeterRegistry(), DAYS, 300);
+    }
+
+    private static DataSource database() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:stats-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // only what the statistics aggregate reads
+        jdbc.execute("""
+            CREATE TABLE user (
+                id                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                email_verified        BOOLEAN      NOT NULL,
+                phone_number_verified BOOLEAN      NOT NULL,
+                created_at            TIMESTAMP(6) NOT NULL
+            )
+        """);
+        jdbc.execute("""
+            CREATE TABLE otp (
+                type     VARCHAR(32) NOT NULL,
+                verified BOOLEAN     NOT NULL,
+                attempts INTEGER     NOT NULL
+            )
+        """);
+        return dataSource;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sourabh.AuthService.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(40);
+
+    @Test
+    void refusesOnceTheLimitIsReached() {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit(2, 1, 10, 100);
+
+        long first = limiter.tryAcquire();
+        long second = limiter.tryAcquire();
+
+        assertThat(first).isNotNegative();
+        assertThat(second).isNotNegative();
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+
+        limiter.release(first, true);
+        assertThat(limiter.inflight()).isOne();
+        assertThat(limiter.tryAcquire()).isNotNegative();
+    }
+
+    @Test
+    void growsToTheMaximumWhileLatencyHolds() {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit(10, 5, 100, 10);
+
+        for (int i = 0; i < 200; i++) {
+            fullWindow(limiter, FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(100);
+    }
+
+    @Test
+    void backsOffWhenLatencyRisesButNotBelowTheMinimum() {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit(10, 5, 100, 10);
+        for (int i = 0; i < 200; i++) {
+            fullWindow(limiter, FAST);
+        }
+
+        fullWindow(limiter, SLOW);
+        int afterOneSlowWindow = limiter.limit();
+        for (int i = 0; i < 50; i++) {
+            fullWindow(limiter, SLOW);
+        }
+
+        assertThat(afterOneSlowWindow).isLessThan(100);
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void lowConcurrencyDoesNotMoveTheLimit() {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit(20, 5, 100, 10);
+
+        // one request at a time says nothing about how much more the service could take
+        for (int i = 0; i < 100; i++) {
+            limiter.release(startedAgo(i % 2 == 0 ? FAST : SLOW, limiter), true);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void unsampledReleasesOnlyFreeThePermit() {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit(10, 5, 100, 1);
+        for (int i = 0; i < 50; i++) {
+            fullWindow(limiter, FAST);
+        }
+        int before = limiter.limit();
+
+        List<Long> starts = acquireAll(limiter);
+        starts.forEach(start -> limiter.release(start - SLOW, false));
+
+        assertThat(limiter.limit()).isEqualTo(before);
+        assertThat(limiter.inflight()).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheLimit() throws Exception {
+        AdaptiveConcurrencyLimit limiter = new AdaptiveConcurrencyLimit(8, 8, 8, 1000);
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger maxHeld = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+
+        for (int t = 0; t < 32; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < 2_000; i++) {
+                    long permit = limiter.tryAcquire();
+                    if (permit < 0) {
+                        continue;
+                    }
+                    maxHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+                    held.decrementAndGet();
+                    limiter.release(permit, false);
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxHeld.get()).isLessThanOrEqualTo(8);
+        assertThat(limiter.inflight()).isZero();
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    // the limiter saturated, every request taking rttNanos
+    private static void fullWindow(AdaptiveConcurrencyLimit limiter, long rttNanos) {
+        acquireAll(limiter).forEach(start -> limiter.release(start - rttNanos, true));
+    }
+
+    private static List<Long> acquireAll(AdaptiveConcurrencyLimit limiter) {
+        List<Long> starts = new ArrayList<>();
+        long start;
+        while ((start = limiter.tryAcquire()) >= 0) {
+            starts.add(start);
+        }
+        return starts;
+    }
+
+    private static long startedAgo(long rttNanos, AdaptiveConcurrencyLimit limiter) {
+        return limiter.tryAcquire() - rttNanos;
+    }
+}
@@ -0,0 +1,55 @@
+package com.sourabh.AuthService.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterCommitTest {
+
+    private final TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(
+            new DriverManagerDataSource("jdbc:h2:mem:after-commit-" + UUID.randomUUID(), "sa", "")));
+
+    private final List<String> ran = new ArrayList<>();
+
+    @Test
+    void runsImmediatelyWithoutATransaction() {
+        AfterCommit.run(() -> ran.add("now"));
+
+        assertThat(ran).containsExactly("now");
+    }
+
+    @Test
+    void runsOnlyAfterCommit() {
+        transaction.executeWithoutResult(status -> {
+            AfterCommit.run(() -> ran.add("committed"));
+            assertThat(ran).isEmpty();
+        });
+
+        assertThat(ran).containsExactly("committed");
+    }
+
+    @Test
+    void skipsOnRollback() {
+        transaction.executeWithoutResult(status -> {
+            AfterCommit.run(() -> ran.add("rolled back"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(ran).isEmpty();
+    }
+
+    @Test
+    void nestedActionsRunRatherThanGetLost() {
+        transaction.executeWithoutResult(status ->
+                AfterCommit.run(() -> AfterCommit.run(() -> ran.add("nested"))));
+
+        assertThat(ran).containsExactly("nested");
+    }
+}
@@ -0,0 +1,79 @@
+package com.sourabh.AuthService.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breached password lookups against a memory-mapped index of two million
+ * hashes, built once per fork into a temp file. Expected to stay well under
+ * a microsecond per lookup, with no allocation (-prof gc).
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="BreachedPasswordIndexBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BreachedPasswordIndexBenchmark {
+
+    private static final int RECORDS = 2_000_000;
+    private static final int PROBES = 1 << 12;
+
+    private Path dir;
+    private BreachedPasswordIndex index;
+    private byte[][] present;
+    private byte[][] absent;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(7);
+        List<byte[]> hashes = BreachedPasswordIndexTest.sortedHashes(RECORDS, random);
+
+        dir = Files.createTempDirectory("breached-passwords");
+        Path dump = dir.resolve("dump.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(dump)) {
+            for (byte[] hash : hashes) {
+                writer.write(HexFormat.of().withUpperCase().formatHex(hash));
+                writer.write(":1\n");
+            }
+        }
+        BreachedPasswordIndexBuilder.build(dump, dir.resolve("passwords.idx"));
+        index = BreachedPasswordIndex.open(dir.resolve("passwords.idx"));
+
+        present = new byte[PROBES][];
+        absent = new byte[PROBES][];
+        for (int i = 0; i < PROBES; i++) {
+            present[i] = hashes.get(random.nextInt(RECORDS));
+            absent[i] = present[i].clone();
+            absent[i][19] ^= 1;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dir.resolve("dump.txt"));
+        Files.deleteIfExists(dir.resolve("passwords.idx"));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public boolean breached() {
+        return index.contains(present[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean notBreached() {
+        return index.contains(absent[next++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.sourabh.AuthService.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BreachedPasswordIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyDumpedHashIsFoundAndNothingElse() throws IOException {
+        List<byte[]> hashes = sortedHashes(5_000, new Random(42));
+        List<String> lines = new ArrayList<>();
+        for (byte[] hash : hashes) {
+            lines.add(HexFormat.of().withUpperCase().formatHex(hash) + ":" + 3);
+        }
+        // same prefix as an entry, different suffix
+        byte[] neighbour = hashes.get(17).clone();
+        neighbour[19] ^= 1;
+
+        BreachedPasswordIndex index = open(lines);
+
+        assertThat(index.size()).isEqualTo(hashes.size());
+        assertThat(hashes).allMatch(index::contains);
+        assertThat(index.contains(neighbour)).isFalse();
+        assertThat(index.contains(new byte[20])).isFalse();
+    }
+
+    @Test
+    void acceptsLowerCaseBlankLinesDuplicatesAndMissingCounts() throws IOException {
+        String first = "000000005AD76BD555C1D6D771DE417A4B87E4B4";
+        String last = "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF";
+
+        BreachedPasswordIndex index = open(List.of(
+                first.toLowerCase() + ":10",
+                "",
+                first + ":10",
+                last
+        ));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.contains(HexFormat.of().parseHex(first))).isTrue();
+        assertThat(index.contains(HexFormat.of().parseHex(last))).isTrue();
+    }
+
+    @Test
+    void emptyDumpGivesAnEmptyIndex() throws IOException {
+        BreachedPasswordIndex index = open(List.of());
+
+        assertThat(index.size()).isZero();
+        assertThat(index.contains(new byte[20])).isFalse();
+    }
+
+    @Test
+    void unorderedDumpIsRejectedWithoutTouchingTheTarget() throws IOException {
+        Path dump = dir.resolve("dump.txt");
+        Files.write(dump, List.of("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF:1", "0000000000000000000000000000000000000000:1"));
+        Path output = dir.resolve("passwords.idx");
+        Files.writeString(output, "previous");
+
+        assertThatThrownBy(() -> BreachedPasswordIndexBuilder.build(dump, output))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 2");
+        assertThat(Files.readString(output)).isEqualTo("previous");
+        assertThat(dir.resolve("passwords.idx.tmp")).doesNotExist();
+    }
+
+    @Test
+    void truncatedOrForeignFilesAreRefused() throws IOException {
+        Path built = dir.resolve("passwords.idx");
+        Path dump = dir.resolve("dump.txt");
+        Files.write(dump, List.of("0000000000000000000000000000000000000000:1"));
+        BreachedPasswordIndexBuilder.build(dump, built);
+
+        byte[] bytes = Files.readAllBytes(built);
+        Path truncated = Files.write(dir.resolve("truncated.idx"), Arrays.copyOf(bytes, bytes.length - 1));
+        byte[] foreign = bytes.clone();
+        foreign[0] = 'X';
+        Path badMagic = Files.write(dir.resolve("foreign.idx"), foreign);
+
+        assertThatThrownBy(() -> BreachedPasswordIndex.open(truncated)).hasMessageContaining("truncated");
+        assertThatThrownBy(() -> BreachedPasswordIndex.open(badMagic)).hasMessageContaining("bad magic");
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private BreachedPasswordIndex open(List<String> lines) throws IOException {
+        Path dump = Files.write(dir.resolve("dump.txt"), lines);
+        Path output = dir.resolve("passwords.idx");
+        BreachedPasswordIndexBuilder.build(dump, output);
+        return BreachedPasswordIndex.open(output);
+    }
+
+    static List<byte[]> sortedHashes(int count, Random random) {
+        List<byte[]> hashes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] hash = new byte[20];
+            random.nextBytes(hash);
+            hashes.add(hash);
+        }
+        hashes.sort(Arrays::compareUnsigned);
+        return hashes;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sourabh.AuthService.util;
+
+import com.sourabh.AuthService.exceptions.BadRequestException;
+import com.sourabh.AuthService.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("test", 1, 1, 100);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void close() {
+        release.countDown();
+        bulkhead.close();
+    }
+
+    @Test
+    void startedWorkRunsToCompletionPastTheQueueTimeout() {
+        String result = bulkhead.call(() -> {
+            Thread.sleep(300);
+            return "committed";
+        });
+
+        assertThat(result).isEqualTo("committed");
+        assertThat(bulkhead.timeouts()).isZero();
+    }
+
+    @Test
+    void queuedWorkIsWithdrawnAndNeverRuns() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> blocker = occupyTheWorker(started);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThatThrownBy(() -> bulkhead.call(() -> ran.getAndSet(true)))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("busy");
+
+        release.countDown();
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(bulkhead.call(() -> "next")).isEqualTo("next");
+        assertThat(ran).isFalse();
+        assertThat(bulkhead.timeouts()).isOne();
+    }
+
+    @Test
+    void fullBulkheadRejectsAtOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        occupyTheWorker(started);
+        CompletableFuture.runAsync(() -> {
+            try {
+                bulkhead.call(() -> "queued");
+            } catch (ServiceUnavailableException ignored) {
+            }
+        });
+        while (bulkhead.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> bulkhead.call(() -> "rejected"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(bulkhead.rejected()).isOne();
+    }
+
+    @Test
+    void failuresReachTheCallerUnwrapped() {
+        assertThatThrownBy(() -> bulkhead.call(() -> {
+            throw BadRequestException.OTP_INVALID;
+        })).isSameAs(BadRequestException.OTP_INVALID);
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    private CompletableFuture<String> occupyTheWorker(CountDownLatch started) throws InterruptedException {
+        CompletableFuture<String> blocker = CompletableFuture.supplyAsync(() -> bulkhead.call(() -> {
+            started.countDown();
+            release.await();
+            return "done";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return blocker;
+    }
+}
@@ -0,0 +1,77 @@
+package com.sourabh.AuthService.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class DayBucketsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Test
+    void snapshotIsOldestFirstWithZeroForQuietDays() {
+        DayBuckets buckets = new DayBuckets(3);
+        buckets.add(DAY, 2);
+        buckets.add(DAY.plusDays(2), 1);
+        buckets.add(DAY.plusDays(2), 1);
+
+        assertThat(buckets.snapshot(DAY.plusDays(2))).containsExactly(
+                entry(DAY, 2L),
+                entry(DAY.plusDays(1), 0L),
+                entry(DAY.plusDays(2), 2L)
+        );
+    }
+
+    @Test
+    void newDayRecyclesTheSlotOfTheDayThatLeftTheWindow() {
+        DayBuckets buckets = new DayBuckets(3);
+        buckets.add(DAY, 5);
+
+        // same slot, three days later
+        buckets.add(DAY.plusDays(3), 1);
+
+        assertThat(buckets.snapshot(DAY.plusDays(3))).containsExactly(
+                entry(DAY.plusDays(1), 0L),
+                entry(DAY.plusDays(2), 0L),
+                entry(DAY.plusDays(3), 1L)
+        );
+    }
+
+    @Test
+    void lateCountForADayOutsideTheWindowIsDropped() {
+        DayBuckets buckets = new DayBuckets(3);
+        buckets.add(DAY.plusDays(3), 1);
+
+        buckets.add(DAY, 5);
+        buckets.set(DAY, 7);
+
+        assertThat(buckets.snapshot(DAY.plusDays(3))).containsEntry(DAY.plusDays(3), 1L).doesNotContainKey(DAY);
+    }
+
+    @Test
+    void daysNotYetRolledOverReadAsZero() {
+        DayBuckets buckets = new DayBuckets(3);
+        buckets.add(DAY, 5);
+
+        // nothing recorded today yet: yesterday's slot still holds an older day
+        assertThat(buckets.snapshot(DAY.plusDays(4))).containsOnly(
+                entry(DAY.plusDays(2), 0L),
+                entry(DAY.plusDays(3), 0L),
+                entry(DAY.plusDays(4), 0L)
+        );
+    }
+
+    @Test
+    void setReplacesTheCount() {
+        DayBuckets buckets = new DayBuckets(3);
+        buckets.add(DAY, 5);
+
+        buckets.set(DAY, 2);
+        buckets.set(DAY.plusDays(1), 4);
+
+        assertThat(buckets.snapshot(DAY.plusDays(1))).containsEntry(DAY, 2L).containsEntry(DAY.plusDays(1), 4L);
+    }
+}
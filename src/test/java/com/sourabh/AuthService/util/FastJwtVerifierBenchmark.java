@@ -0,0 +1,48 @@
+package com.sourabh.AuthService.util;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification: fast path vs the generic jjwt parser.
+ * Run with -prof gc to compare allocation per operation.
+ *
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="FastJwtVerifierBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastJwtVerifierBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private FastJwtVerifier fast;
+    private JwtParser jjwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        fast = new FastJwtVerifier(key);
+        jjwt = Jwts.parserBuilder().setSigningKey(key).build();
+        token = new JwtUtil(SECRET, 60).generateToken("benchmark.user@example.com");
+    }
+
+    @Benchmark
+    public String fastVerifier() {
+        return fast.verify(token, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public String jjwtParser() {
+        return jjwt.parseClaimsJws(token).getBody().getSubject();
+    }
+}
@@ -0,0 +1,112 @@
+package com.sourabh.AuthService.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastJwtVerifierTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
+
+    private final FastJwtVerifier verifier = new FastJwtVerifier(KEY);
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    void acceptsTokensIssuedByJwtUtil() {
+        String token = new JwtUtil(SECRET, 60).generateToken("user@example.com");
+
+        assertThat(verifier.verify(token, now)).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = token("user@example.com", now - 1000);
+
+        assertThat(verifier.verify(token, now)).isNull();
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = token("user@example.com", now + 60_000);
+        char last = token.charAt(token.length() - 5);
+        String tampered = token.substring(0, token.length() - 5)
+                + (last == 'A' ? 'B' : 'A')
+                + token.substring(token.length() - 4);
+
+        assertThat(verifier.verify(tampered, now)).isNull();
+    }
+
+    @Test
+    void rejectsNonCanonicalTrailingBits() {
+        String token = token("user@example.com", now + 60_000);
+
+        // 43 chars carry 258 bits for a 32 byte signature: setting either of the
+        // two unused bits of the last char decodes to the same signature bytes
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        int last = alphabet.indexOf(token.charAt(token.length() - 1));
+        assertThat(last & 0b11).isZero();
+        String nonCanonical = token.substring(0, token.length() - 1) + alphabet.charAt(last | 0b01);
+
+        assertThat(verifier.verify(token, now)).isEqualTo("user@example.com");
+        assertThat(verifier.verify(nonCanonical, now)).isNull();
+    }
+
+    @Test
+    void rejectsUnexpectedClaimsAndHeaders() {
+        String extraClaim = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("role", "ADMIN")
+                .setExpiration(new Date(now + 60_000))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+        String typedHeader = Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setSubject("user@example.com")
+                .setExpiration(new Date(now + 60_000))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(verifier.verify(extraClaim, now)).isNull();
+        assertThat(verifier.verify(typedHeader, now)).isNull();
+    }
+
+    @Test
+    void rejectsEscapedSubjectAndGarbage() {
+        String escaped = sign("{\"sub\":\"a\\\"b\",\"exp\":" + (now / 1000 + 60) + "}");
+
+        assertThat(verifier.verify(escaped, now)).isNull();
+        assertThat(verifier.verify("not-a-token", now)).isNull();
+        assertThat(verifier.verify("", now)).isNull();
+    }
+
+    private static String token(String subject, long expiresAt) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(expiresAt))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static String sign(String payloadJson) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String signed = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8));
+        try {
+            javax.crypto.Mac mac = javax.crypto.Mac.getInstance("HmacSHA256");
+            mac.init(KEY);
+            return signed + "." + encoder.encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.US_ASCII)));
+        } catch (java.security.GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sourabh.AuthService.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private static final IdempotencyStore.StoredResponse OK =
+            new IdempotencyStore.StoredResponse(200, "application/json", new byte[0]);
+
+    @Test
+    void duplicateJoinsTheOwnersClaim() {
+        IdempotencyStore store = new IdempotencyStore(10, 600);
+
+        IdempotencyStore.Claim owner = store.claim("k", "f");
+        IdempotencyStore.Claim duplicate = store.claim("k", "f");
+
+        assertThat(owner.owner()).isTrue();
+        assertThat(duplicate.owner()).isFalse();
+        assertThat(duplicate.result()).isSameAs(owner.result());
+    }
+
+    @Test
+    void capacityEvictsCompletedEntriesOldestFirst() {
+        IdempotencyStore store = new IdempotencyStore(2, 600);
+
+        store.complete(store.claim("a", "f"), OK);
+        store.complete(store.claim("b", "f"), OK);
+        store.claim("c", "f");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("a", "f").owner()).isTrue();
+    }
+
+    @Test
+    void capacityNeverEvictsInFlightClaims() {
+        IdempotencyStore store = new IdempotencyStore(2, 600);
+
+        IdempotencyStore.Claim inFlight = store.claim("a", "f");
+        store.complete(store.claim("b", "f"), OK);
+        store.claim("c", "f");
+        store.claim("d", "f");
+
+        IdempotencyStore.Claim retry = store.claim("a", "f");
+        assertThat(retry.owner()).isFalse();
+        assertThat(retry.result()).isSameAs(inFlight.result());
+        assertThat(store.claim("b", "f").owner()).isTrue();
+    }
+
+    @Test
+    void ttlNeverEvictsInFlightClaims() {
+        IdempotencyStore store = new IdempotencyStore(10, 0);
+
+        IdempotencyStore.Claim inFlight = store.claim("a", "f");
+        store.complete(store.claim("b", "f"), OK);
+
+        assertThat(store.claim("a", "f").owner()).isFalse();
+        assertThat(store.claim("b", "f").owner()).isTrue();
+
+        store.complete(inFlight, OK);
+        assertThat(store.claim("a", "f").owner()).isTrue();
+    }
+
+    @Test
+    void abandonForgetsTheKeyAndWakesWaiters() {
+        IdempotencyStore store = new IdempotencyStore(10, 600);
+
+        IdempotencyStore.Claim owner = store.claim("k", "f");
+        IdempotencyStore.Claim waiter = store.claim("k", "f");
+        store.abandon("k", owner);
+
+        assertThat(waiter.result()).isCompletedWithValue(null);
+        assertThat(store.claim("k", "f").owner()).isTrue();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sourabh.AuthService.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestTimingTest {
+
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void cleanUp() {
+        RequestTiming.end();
+        virtualThreads.close();
+    }
+
+    @Test
+    void phasesOnAPropagatingExecutorLandInTheCallersRecording() {
+        RequestTiming.Recording recording = RequestTiming.begin("POST", "/api/v1/auth/signup");
+        Executor executor = RequestTiming.propagating(virtualThreads);
+
+        CompletableFuture.runAsync(() -> timed("bcrypt"), executor).join();
+
+        assertThat(phases(recording)).containsExactly("bcrypt");
+    }
+
+    @Test
+    void propagatingCallableCarriesTheRecording() throws Exception {
+        RequestTiming.Recording recording = RequestTiming.begin("POST", "/api/v1/auth/login");
+
+        virtualThreads.submit(RequestTiming.propagating(() -> {
+            timed("db");
+            return null;
+        })).get();
+
+        assertThat(phases(recording)).containsExactly("db");
+    }
+
+    @Test
+    void parallelStreamWorkersRecordThroughAPropagatingConsumer() {
+        RequestTiming.Recording recording = RequestTiming.begin("POST", "/api/v1/admin/users/import");
+
+        Consumer<Integer> hash = RequestTiming.propagatingEach(item -> timed("bcrypt"));
+        new ForkJoinPool(4).submit(() -> List.of(1, 2, 3, 4, 5, 6, 7, 8).parallelStream().forEach(hash)).join();
+
+        assertThat(phases(recording)).containsExactly("bcrypt");
+    }
+
+    @Test
+    void callerRunsKeepsTheCallersRecording() {
+        RequestTiming.Recording recording = RequestTiming.begin("POST", "/api/v1/auth/verify");
+
+        RequestTiming.propagating((Executor) Runnable::run).execute(() -> timed("db"));
+
+        assertThat(RequestTiming.current()).isSameAs(recording);
+        assertThat(phases(recording)).containsExactly("db");
+    }
+
+    @Test
+    void withoutARequestNothingIsAttached() {
+        CompletableFuture.runAsync(() -> {
+            timed("db");
+            assertThat(RequestTiming.current()).isNull();
+        }, RequestTiming.propagating(virtualThreads)).join();
+    }
+
+    private static void timed(String phase) {
+        try (RequestTiming.Phase ignored = RequestTiming.phase(phase)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static List<String> phases(RequestTiming.Recording recording) {
+        return List.copyOf(recording.toBreakdown(200, 0).phasesMs().keySet());
+    }
+}
@@ -0,0 +1,150 @@
+package com.sourabh.AuthService.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void close() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>("test", 10_000, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Object value = new Object();
+
+        List<Future<Object>> results = inFlight(flight, "key", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return value;
+        });
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(value);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(calls("executed")).isEqualTo(1);
+        assertThat(calls("coalesced")).isEqualTo(FOLLOWERS);
+    }
+
+    @Test
+    void leaderFailureReachesEveryWaiter() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>("test", 10_000, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("db down");
+
+        List<Future<Object>> results = inFlight(flight, "key", () -> {
+            await(release);
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+    }
+
+    @Test
+    void keyIsReleasedOnceTheCallCompletes() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", 10_000, registry);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(flight.execute("key", loads::incrementAndGet)).isEqualTo(1);
+        assertThatThrownBy(() -> flight.execute("key", () -> {
+            throw new IllegalStateException("db down");
+        })).hasMessage("db down");
+        // nothing is cached, neither the value nor the failure
+        assertThat(flight.execute("key", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(calls("coalesced")).isZero();
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", 10_000, registry);
+
+        assertThat(flight.execute("a", () -> flight.execute("b", () -> "b") + "a")).isEqualTo("ba");
+    }
+
+    @Test
+    void waiterPastTheTimeoutLoadsItself() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", 50, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leading = new CountDownLatch(1);
+
+        Future<String> leader = callers.submit(() -> flight.execute("key", () -> {
+            leading.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(flight.execute("key", () -> "own")).isEqualTo("own");
+        assertThat(calls("timeout")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+    }
+
+    /* ===================== HELPERS ===================== */
+
+    // starts a blocked leader, then followers, and returns once every follower is waiting on it
+    private List<Future<Object>> inFlight(SingleFlight<String, Object> flight, String key,
+                                          Supplier<Object> loader) throws Exception {
+        CountDownLatch leading = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(callers.submit(() -> flight.execute(key, () -> {
+            leading.countDown();
+            return loader.get();
+        })));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(callers.submit(() -> flight.execute(key, loader)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("coalesced") < FOLLOWERS && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(calls("coalesced")).isEqualTo(FOLLOWERS);
+        return results;
+    }
+
+    private double calls(String outcome) {
+        return registry.get("singleflight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
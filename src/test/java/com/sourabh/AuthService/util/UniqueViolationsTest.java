@@ -0,0 +1,61 @@
+package com.sourabh.AuthService.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UniqueViolationsTest {
+
+    @Test
+    void readsTheConstraintNameFromHibernate() {
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("insert", mysqlDuplicate("a@b.com", "user.ux_user_phone_e164"),
+                        "user.ux_user_phone_e164"));
+
+        assertThat(UniqueViolations.column(ex)).contains(UniqueViolations.Column.PHONE);
+    }
+
+    @Test
+    void readsTheKeyFromAMySqlDuplicateEntry() {
+        DuplicateKeyException ex = new DuplicateKeyException("insert",
+                mysqlDuplicate("+919876543210", "user_directory.ux_user_directory_email"));
+
+        assertThat(UniqueViolations.column(ex)).contains(UniqueViolations.Column.EMAIL);
+    }
+
+    @Test
+    void ignoresTheDuplicateValue() {
+        DuplicateKeyException ex = new DuplicateKeyException("insert",
+                mysqlDuplicate("phone@example.com", "user.uk_user_email"));
+
+        assertThat(UniqueViolations.column(ex)).contains(UniqueViolations.Column.EMAIL);
+    }
+
+    @Test
+    void otherConstraintsAreNotAccountColumns() {
+        DuplicateKeyException ex = new DuplicateKeyException("insert",
+                mysqlDuplicate("x", "otp.ux_otp_active_slot"));
+
+        assertThat(UniqueViolations.column(ex)).isEmpty();
+        assertThat(UniqueViolations.column(new DataIntegrityViolationException("no cause"))).isEmpty();
+    }
+
+    @Test
+    void generatedNamesAreNotGuessed() {
+        // what ddl-auto=update named them; V13 renames these
+        DuplicateKeyException ex = new DuplicateKeyException("insert",
+                mysqlDuplicate("a@b.com", "user.UK_ob8kqyqqgmefl0aco34akdtpe"));
+
+        assertThat(UniqueViolations.column(ex)).isEmpty();
+    }
+
+    private static SQLIntegrityConstraintViolationException mysqlDuplicate(String value, String key) {
+        return new SQLIntegrityConstraintViolationException(
+                "Duplicate entry '" + value + "' for key '" + key + "'", "23000", 1062);
+    }
+}